@@ -95,6 +95,16 @@ function Alarm() {
 
   useEffect(() => {
     handleGetAlarm();
+
+    // EventSource 는 header 를 보낼 수 없으므로 token 을 query string 으로 보낸다.
+    const eventSource = new EventSource('/api/v1/users/alarm/subscribe?token=' + localStorage.getItem('token'));
+    eventSource.addEventListener('alarm', (event) => {
+      console.log(event);
+      setPage(0);
+      handleGetAlarm(0);
+    });
+
+    return () => eventSource.close();
   }, []);
 
   return (
@@ -20,15 +20,12 @@ import { Link, useNavigate, useLocation } from 'react-router-dom';
 // @mui material components
 import Grid from '@mui/material/Grid';
 import Card from '@mui/material/Card';
-import KeyboardArrowLeftIcon from '@mui/icons-material/KeyboardArrowLeft';
-import KeyboardArrowRightIcon from '@mui/icons-material/KeyboardArrowRight';
 
 // Material Dashboard 2 React components
 import MDBox from 'components/MDBox';
 import MDTypography from 'components/MDTypography';
 import MDInput from 'components/MDInput';
 import MDButton from 'components/MDButton';
-import MDPagination from 'components/MDPagination';
 
 // Material Dashboard 2 React example components
 import DashboardLayout from 'examples/LayoutContainers/DashboardLayout';
@@ -57,7 +54,6 @@ const Transition = React.forwardRef(function Transition(
 function PostDetail() {
   const { state } = useLocation();
   console.log(state);
-  const [page, setPage] = useState(0);
   const [title, setTitle] = useState(state.title);
   const [writer, setWriter] = useState(state.user.userName);
   const [body, setBody] = useState(state.body);
@@ -65,7 +61,7 @@ function PostDetail() {
 
   const [likes, setLikes] = useState(0);
   const [comments, setComments] = useState([]);
-  const [totalPage, setTotalPage] = useState(0);
+  const [nextCursor, setNextCursor] = useState(null);
   const [comment, setComment] = useState();
 
   const handleLikePost = (event) => {
@@ -104,18 +100,10 @@ function PostDetail() {
       });
   };
 
-  const changePage = (pageNum) => {
-    console.log('change pages');
-    console.log(pageNum);
-    console.log(page);
-    setPage(pageNum);
-    handleGetComments(pageNum);
-  };
-
-  const handleGetComments = (pageNum, event) => {
+  const handleGetComments = (cursor, event) => {
     console.log('handleGetComments');
     axios({
-      url: '/api/v1/posts/' + id + '/comments?size=5&sort=id&page=' + pageNum,
+      url: '/api/v1/posts/' + id + '/comments?size=5' + (cursor ? '&cursor=' + cursor : ''),
       method: 'GET',
       headers: {
         Authorization: 'Bearer ' + localStorage.getItem('token'),
@@ -124,15 +112,15 @@ function PostDetail() {
       .then((res) => {
         console.log('success');
         console.log(res);
-        setComments(res.data.result.content);
-        setTotalPage(res.data.result.totalPages);
+        setComments(cursor ? comments.concat(res.data.result.content) : res.data.result.content);
+        setNextCursor(res.data.result.nextCursor);
       })
       .catch((error) => {
         console.log(error);
       });
   };
 
-  const handleWriteComment = (pageNum, event) => {
+  const handleWriteComment = (event) => {
     console.log('handleWriteComment');
     axios({
       url: '/api/v1/posts/' + id + '/comments',
@@ -208,19 +196,11 @@ function PostDetail() {
               </Card>
             </MDBox>
           ))}
-          <MDPagination>
-            <MDPagination item>
-              <KeyboardArrowLeftIcon></KeyboardArrowLeftIcon>
-            </MDPagination>
-            {[...Array(totalPage).keys()].map((i) => (
-              <MDPagination item onClick={() => changePage(i)}>
-                {i + 1}
-              </MDPagination>
-            ))}
-            <MDPagination item>
-              <KeyboardArrowRightIcon></KeyboardArrowRightIcon>
-            </MDPagination>
-          </MDPagination>
+          {nextCursor && (
+            <MDButton onClick={() => handleGetComments(nextCursor)} variant="gradient" color="info">
+              MORE
+            </MDButton>
+          )}
 
 
       <MDBox pt={3} pb={3}>
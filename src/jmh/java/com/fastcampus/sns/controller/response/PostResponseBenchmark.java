@@ -0,0 +1,103 @@
+package com.fastcampus.sns.controller.response;
+
+import com.fastcampus.sns.model.Post;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 포스트 목록 응답 한 페이지를 만드는 과정. entity -> Post -> PostResponse 변환과 Response 직렬화를 나눠 측정한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostResponseBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private PostEntity entity;
+    private List<PostEntity> entities;
+    private Response<PostResponse> response;
+    private Response<List<PostResponse>> pageResponse;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot 가 만드는 ObjectMapper 와 같은 설정
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        final UserEntity user = new UserEntity();
+        user.setId(1);
+        user.setUserName("userName");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123");
+        user.setRegisteredAt(Timestamp.from(Instant.now()));
+
+        entities = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            final PostEntity post = new PostEntity();
+            post.setId(i + 1);
+            post.setTitle("title " + i);
+            post.setBody("body of post " + i + ". " + "lorem ipsum dolor sit amet ".repeat(10));
+            post.setUser(user);
+            post.setRegisteredAt(Timestamp.from(Instant.now()));
+            entities.add(post);
+        }
+        entity = entities.get(0);
+
+        response = Response.success(mapPost());
+        pageResponse = Response.success(mapPage());
+    }
+
+    @Benchmark
+    public PostResponse mapPost() {
+        return PostResponse.fromPost(Post.fromEntity(entity));
+    }
+
+    @Benchmark
+    public List<PostResponse> mapPage() {
+        final List<PostResponse> result = new ArrayList<>(entities.size());
+        for (PostEntity postEntity : entities) {
+            result.add(PostResponse.fromPost(Post.fromEntity(postEntity)));
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializePost() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    // 변환부터 직렬화까지 한 페이지 응답 전체
+    @Benchmark
+    public byte[] mapAndSerializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(Response.success(mapPage()));
+    }
+
+}
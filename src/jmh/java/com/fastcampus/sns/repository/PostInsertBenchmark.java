@@ -0,0 +1,202 @@
+package com.fastcampus.sns.repository;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// 내장 H2 에 post 를 한 트랜잭션에서 ROWS 개씩 저장하며 id 생성 방식과 JDBC batch 여부에 따른 insert 처리량을 비교한다.
+// 내장 DB 는 네트워크 왕복이 없어 statement 수의 차이가 드러나지 않으므로, roundTripMicros 만큼 statement 마다 기다려 DB 서버와의 왕복을 흉내 낸다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostInsertBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    public enum Strategy {
+        // 기존 방식. batch_size 를 설정해도 IDENTITY 는 batch 되지 않는다.
+        IDENTITY,
+        SEQUENCE,
+        SEQUENCE_BATCHED,
+    }
+
+    @Param({"IDENTITY", "SEQUENCE", "SEQUENCE_BATCHED"})
+    private Strategy strategy;
+
+    // 0 이면 내장 DB 그대로, 500 이면 같은 데이터센터의 DB 서버 정도의 왕복 시간
+    @Param({"0", "500"})
+    private long roundTripMicros;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        final Configuration configuration = new Configuration()
+                .addAnnotatedClass(IdentityPost.class)
+                .addAnnotatedClass(SequencePost.class);
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, withRoundTrip(
+                new DriverManagerDataSource("jdbc:h2:mem:post_insert_" + strategy + "_" + roundTripMicros + ";DB_CLOSE_DELAY=-1", "sa", ""),
+                TimeUnit.MICROSECONDS.toNanos(roundTripMicros)));
+
+        sessionFactory = configuration
+                .setProperty(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, strategy == Strategy.SEQUENCE ? "0" : String.valueOf(BATCH_SIZE))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    // 결과는 post 한 건 기준의 처리량이다.
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insert() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 1; i <= ROWS; i++) {
+                session.persist(strategy == Strategy.IDENTITY ? new IdentityPost("title" + i, "body" + i) : new SequencePost("title" + i, "body" + i));
+
+                if (i % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    // statement 를 실행하거나 commit 할 때마다 한 번의 왕복으로 보고 기다린다. batch 는 한 번에 보내므로 한 번만 기다린다.
+    private static DataSource withRoundTrip(DataSource dataSource, long roundTripNanos) {
+        if (roundTripNanos == 0) {
+            return dataSource;
+        }
+
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                final Connection connection = super.getConnection();
+
+                return (Connection) proxy(Connection.class, (proxy, method, args) -> {
+                    final Object result = invoke(connection, method, args);
+                    if (result instanceof Statement) {
+                        final Statement statement = (Statement) result;
+                        return proxy(statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class, (statementProxy, statementMethod, statementArgs) -> {
+                            if (statementMethod.getName().startsWith("execute")) {
+                                LockSupport.parkNanos(roundTripNanos);
+                            }
+                            return invoke(statement, statementMethod, statementArgs);
+                        });
+                    }
+                    if (method.getName().equals("commit")) {
+                        LockSupport.parkNanos(roundTripNanos);
+                    }
+                    return result;
+                });
+            }
+        };
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @Entity
+    @Table(name = "identity_post")
+    public static class IdentityPost {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Integer id;
+
+        @Column(name = "title")
+        private String title;
+
+        @Column(name = "body", columnDefinition = "TEXT")
+        private String body;
+
+        public IdentityPost() {
+        }
+
+        IdentityPost(String title, String body) {
+            this.title = title;
+            this.body = body;
+        }
+    }
+
+    // PostEntity 와 같은 id 생성 설정
+    @Entity
+    @Table(name = "sequence_post")
+    public static class SequencePost {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_id_generator")
+        @SequenceGenerator(name = "post_id_generator", sequenceName = "post_id_seq", allocationSize = 50)
+        private Integer id;
+
+        @Column(name = "title")
+        private String title;
+
+        @Column(name = "body", columnDefinition = "TEXT")
+        private String body;
+
+        public SequencePost() {
+        }
+
+        SequencePost(String title, String body) {
+            this.title = title;
+            this.body = body;
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.fastcampus.sns.util;
+
+import com.fastcampus.sns.model.User;
+import com.fastcampus.sns.model.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenUtilsBenchmark {
+
+    private static final String SECRET_KEY = "fast_campus.sns-application-2022.secret_key";
+    private static final long EXPIRED_TIME_MS = 2592000000L;
+
+    private JwtTokenUtils jwtTokenUtils;
+    private String token;
+    private User user;
+    private String selfContainedToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtils = new JwtTokenUtils(SECRET_KEY, EXPIRED_TIME_MS, EXPIRED_TIME_MS, false);
+        token = jwtTokenUtils.generateToken("userName");
+        user = new User(1, "userName", null, UserRole.USER, null, null, null);
+        selfContainedToken = jwtTokenUtils.generateToken(user, 0);
+    }
+
+    @Benchmark
+    public String legacyGenerateToken() {
+        return LegacyJwtTokenUtils.generateToken("userName", SECRET_KEY, EXPIRED_TIME_MS);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtils.generateToken("userName");
+    }
+
+    // 기존 JwtTokenFilter 처럼 isExpired, getUserName 에서 각각 토큰을 파싱한다.
+    @Benchmark
+    public void legacyAuthenticate(Blackhole blackhole) {
+        blackhole.consume(LegacyJwtTokenUtils.isExpired(token, SECRET_KEY));
+        blackhole.consume(LegacyJwtTokenUtils.getUserName(token, SECRET_KEY));
+    }
+
+    @Benchmark
+    public void authenticate(Blackhole blackhole) {
+        final Claims claims = jwtTokenUtils.extractClaims(token);
+        blackhole.consume(jwtTokenUtils.isExpired(claims));
+        blackhole.consume(jwtTokenUtils.getUserName(claims));
+    }
+
+    @Benchmark
+    public String generateSelfContainedToken() {
+        return jwtTokenUtils.generateToken(user, 0);
+    }
+
+    // jwt.token.self-contained 가 true 일 때 filter 가 DB 조회 없이 principal 을 만드는 과정
+    @Benchmark
+    public User authenticateSelfContained() {
+        final Claims claims = jwtTokenUtils.extractClaims(selfContainedToken);
+        return jwtTokenUtils.isExpired(claims) ? null : jwtTokenUtils.getUser(claims);
+    }
+
+    static class LegacyJwtTokenUtils {
+
+        static String getUserName(String token, String key) {
+            return extractClaims(token, key).get("userName", String.class);
+        }
+
+        static boolean isExpired(String token, String key) {
+            return extractClaims(token, key).getExpiration().before(new Date());
+        }
+
+        static Claims extractClaims(String token, String key) {
+            return Jwts.parserBuilder().setSigningKey(getKey(key))
+                    .build().parseClaimsJws(token).getBody();
+        }
+
+        static String generateToken(String userName, String key, long expiredTokenMs) {
+            Claims claims = Jwts.claims();
+            claims.put("userName", userName);
+
+            return Jwts.builder()
+                    .setClaims(claims)
+                    .setIssuedAt(new Date((System.currentTimeMillis())))
+                    .setExpiration(new Date(System.currentTimeMillis() + expiredTokenMs))
+                    .signWith(getKey(key), SignatureAlgorithm.HS256)
+                    .compact();
+        }
+
+        static Key getKey(String key) {
+            return Keys.hmacShaKeyFor(key.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.fastcampus.sns.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// RateLimitFilter 가 요청마다 하는 작업. 한도에 걸리지 않도록 충분히 큰 rate 로 측정한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+
+    private RateLimiter<Integer> userLimiter;
+    private TokenBucket globalBucket;
+
+    @Setup
+    public void setUp() {
+        userLimiter = new RateLimiter<>(1_000_000, Duration.ofSeconds(1), 1_000_000_000, 100_000);
+        globalBucket = new TokenBucket(1_000_000, Duration.ofSeconds(1), 1_000_000_000);
+        for (int i = 0; i < USER_COUNT; i++) {
+            userLimiter.tryAcquire(i);
+        }
+    }
+
+    @Benchmark
+    public boolean sameUser() {
+        return userLimiter.tryAcquire(1);
+    }
+
+    @Benchmark
+    public boolean manyUsers() {
+        return userLimiter.tryAcquire(ThreadLocalRandom.current().nextInt(USER_COUNT));
+    }
+
+    @Benchmark
+    public boolean manyUsersWithGlobal() {
+        return userLimiter.tryAcquire(ThreadLocalRandom.current().nextInt(USER_COUNT)) && globalBucket.tryAcquire();
+    }
+
+    // 모든 요청이 같이 갱신하는 전체 bucket 의 CAS 경합
+    @Benchmark
+    @Threads(4)
+    public boolean manyUsersWithGlobalContended() {
+        return userLimiter.tryAcquire(ThreadLocalRandom.current().nextInt(USER_COUNT)) && globalBucket.tryAcquire();
+    }
+
+}
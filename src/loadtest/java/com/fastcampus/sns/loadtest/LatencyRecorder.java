@@ -0,0 +1,84 @@
+package com.fastcampus.sns.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// endpoint 별 응답 시간을 모두 보관했다가 끝난 뒤 정렬해 percentile 을 구한다.
+public class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        samples.computeIfAbsent(endpoint, it -> new Samples()).add(latencyNanos, success);
+    }
+
+    public Map<String, EndpointStats> summarize(long durationNanos) {
+        final Map<String, EndpointStats> result = new TreeMap<>();
+        samples.forEach((endpoint, it) -> result.put(endpoint, it.summarize(durationNanos)));
+
+        return result;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class EndpointStats {
+        private final int count;
+        private final long errors;
+        private final double throughputPerSecond;
+        private final double p50Ms;
+        private final double p90Ms;
+        private final double p99Ms;
+        private final double maxMs;
+    }
+
+    private static class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long latencyNanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats summarize(long durationNanos) {
+            final long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+
+            return new EndpointStats(
+                    size,
+                    errors,
+                    size / (durationNanos / (double) TimeUnit.SECONDS.toNanos(1)),
+                    toMs(percentile(sorted, 0.50)),
+                    toMs(percentile(sorted, 0.90)),
+                    toMs(percentile(sorted, 0.99)),
+                    toMs(sorted.length == 0 ? 0 : sorted[sorted.length - 1])
+            );
+        }
+
+        // nearest-rank
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+
+            return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+        }
+
+        private static double toMs(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+}
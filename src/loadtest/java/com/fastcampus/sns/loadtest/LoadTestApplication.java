@@ -0,0 +1,54 @@
+package com.fastcampus.sns.loadtest;
+
+import com.fastcampus.sns.FastcampusSpring10ProjectsSnsApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// loadtest profile 로 내장 H2 위에 앱을 띄우고 데이터를 채운 뒤, 같은 JVM 에서 HTTP 로 부하를 주고 결과를 JSON 으로 남긴다.
+// ./gradlew loadTest --args='--loadtest.users=1000 --loadtest.posts=100000 --loadtest.duration-seconds=60'
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(FastcampusSpring10ProjectsSnsApplication.class)
+                .profiles("loadtest")
+                .run(args);
+
+        try {
+            final Environment environment = context.getEnvironment();
+            final ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            final LoadTestDriver driver = new LoadTestDriver(
+                    URI.create("http://localhost:" + environment.getRequiredProperty("local.server.port")),
+                    objectMapper,
+                    environment.getRequiredProperty("loadtest.users", Integer.class),
+                    environment.getRequiredProperty("loadtest.posts", Integer.class),
+                    environment.getRequiredProperty("loadtest.threads", Integer.class),
+                    environment.getRequiredProperty("loadtest.warmup-seconds", Long.class),
+                    environment.getRequiredProperty("loadtest.duration-seconds", Long.class)
+            );
+
+            final LoadTestReport report = driver.run();
+
+            final Path reportPath = Paths.get(environment.getRequiredProperty("loadtest.report-path"));
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            final byte[] json = objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(report);
+            Files.write(reportPath, json);
+
+            log.info("Load test report is written to {}\n{}", reportPath.toAbsolutePath(), new String(json));
+        } finally {
+            context.close();
+        }
+    }
+
+}
@@ -0,0 +1,263 @@
+package com.fastcampus.sns.loadtest;
+
+import com.fastcampus.sns.controller.request.PostCreateRequest;
+import com.fastcampus.sns.controller.request.PostModifyRequest;
+import com.fastcampus.sns.controller.request.UserLoginRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// thread 하나가 유저 하나처럼 로그인한 뒤 시나리오를 비율대로 골라 끝날 때까지 반복한다. warmup 동안의 요청은 기록하지 않는다.
+// LOGIN 시나리오마다 seed 한 유저 중 하나로 바꿔 로그인하므로, thread 수보다 많은 유저의 캐시와 row 를 건드린다.
+@Slf4j
+public class LoadTestDriver {
+
+    private static final int PAGE_SIZE = 20;
+
+    public enum Scenario {
+        LOGIN(5),
+        SCROLL(50),
+        CREATE(15),
+        MODIFY(10),
+        MY_LIST(20),
+        ;
+
+        private final int weight;
+
+        Scenario(int weight) {
+            this.weight = weight;
+        }
+
+        static Scenario pick(int random) {
+            for (Scenario scenario : values()) {
+                if (random < scenario.weight) {
+                    return scenario;
+                }
+                random -= scenario.weight;
+            }
+
+            return SCROLL;
+        }
+
+        static int totalWeight() {
+            int total = 0;
+            for (Scenario scenario : values()) {
+                total += scenario.weight;
+            }
+
+            return total;
+        }
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final int users;
+    private final int posts;
+    private final int threads;
+    private final long warmupSeconds;
+    private final long durationSeconds;
+
+    private volatile long measureFrom;
+    private volatile long measureUntil;
+
+    public LoadTestDriver(URI baseUri, ObjectMapper objectMapper, int users, int posts, int threads, long warmupSeconds, long durationSeconds) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.users = users;
+        this.posts = posts;
+        this.threads = threads;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        final Instant startedAt = Instant.now();
+        measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        final List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            final VirtualUser user = new VirtualUser(LoadTestSeeder.userName(i % users));
+            final Thread worker = new Thread(() -> work(user), "loadtest-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        final Map<String, LatencyRecorder.EndpointStats> endpoints = recorder.summarize(measureUntil - measureFrom);
+        final long totalRequests = endpoints.values().stream().mapToLong(LatencyRecorder.EndpointStats::getCount).sum();
+
+        return new LoadTestReport(
+                startedAt.toString(),
+                users,
+                posts,
+                threads,
+                durationSeconds,
+                totalRequests,
+                totalRequests / (double) durationSeconds,
+                endpoints
+        );
+    }
+
+    private void work(VirtualUser user) {
+        final int totalWeight = Scenario.totalWeight();
+
+        try {
+            login(user);
+            myList(user);
+
+            while (System.nanoTime() < measureUntil) {
+                // 로그인에 실패했다면 다른 요청 전에 다시 로그인한다.
+                if (user.token == null) {
+                    login(user);
+                    continue;
+                }
+
+                switch (Scenario.pick(ThreadLocalRandom.current().nextInt(totalWeight))) {
+                    case LOGIN:
+                        user.switchTo(LoadTestSeeder.userName(ThreadLocalRandom.current().nextInt(users)));
+                        login(user);
+                        break;
+                    case SCROLL:
+                        scroll(user);
+                        break;
+                    case CREATE:
+                        create(user);
+                        break;
+                    case MODIFY:
+                        modify(user);
+                        break;
+                    case MY_LIST:
+                        myList(user);
+                        break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Load test worker for {} stopped. {}", user.userName, e.toString());
+        }
+    }
+
+    private void login(VirtualUser user) {
+        final JsonNode result = send("login", HttpRequest.newBuilder(baseUri.resolve("/api/v1/users/login"))
+                .POST(json(new UserLoginRequest(user.userName, LoadTestSeeder.PASSWORD))), null);
+        if (result != null) {
+            user.token = result.path("token").asText();
+        }
+    }
+
+    // 이전 페이지의 cursor 로 다음 페이지를 읽고, 마지막 페이지 다음에는 처음부터 다시 읽는다.
+    private void scroll(VirtualUser user) {
+        final String query = user.cursor == null ? "?size=" + PAGE_SIZE : "?size=" + PAGE_SIZE + "&cursor=" + user.cursor;
+        final JsonNode result = send("scroll", HttpRequest.newBuilder(baseUri.resolve("/api/v1/posts/scroll" + query)).GET(), user.token);
+        if (result != null) {
+            user.cursor = result.path("hasNext").asBoolean() ? result.path("nextCursor").asText() : null;
+        }
+    }
+
+    private void create(VirtualUser user) {
+        send("create", HttpRequest.newBuilder(baseUri.resolve("/api/v1/posts"))
+                .POST(json(new PostCreateRequest("load test title", "load test body #loadtest"))), user.token);
+    }
+
+    // 내 post 목록에서 본 post 중 하나를 수정한다.
+    private void modify(VirtualUser user) {
+        if (user.postIds.isEmpty()) {
+            myList(user);
+            return;
+        }
+
+        final Integer postId = user.postIds.get(ThreadLocalRandom.current().nextInt(user.postIds.size()));
+        send("modify", HttpRequest.newBuilder(baseUri.resolve("/api/v1/posts/" + postId))
+                .PUT(json(new PostModifyRequest("modified title", "modified body #loadtest"))), user.token);
+    }
+
+    private void myList(VirtualUser user) {
+        final JsonNode result = send("myList", HttpRequest.newBuilder(baseUri.resolve("/api/v1/posts/my?size=" + PAGE_SIZE)).GET(), user.token);
+        if (result != null) {
+            user.postIds.clear();
+            result.path("content").forEach(it -> user.postIds.add(it.path("id").asInt()));
+        }
+    }
+
+    // 성공하면 Response 의 result 를 반환한다.
+    private JsonNode send(String endpoint, HttpRequest.Builder builder, String token) {
+        builder.header("Content-Type", "application/json").timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+
+        final long startedAt = System.nanoTime();
+        HttpResponse<byte[]> response = null;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            log.debug("Error occurs while requesting {}. {}", endpoint, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        final long finishedAt = System.nanoTime();
+
+        final boolean success = response != null && response.statusCode() / 100 == 2;
+        if (startedAt >= measureFrom && finishedAt <= measureUntil) {
+            recorder.record(endpoint, finishedAt - startedAt, success);
+        }
+        if (!success) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readTree(response.body()).path("result");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class VirtualUser {
+        private final List<Integer> postIds = new ArrayList<>();
+        private String userName;
+        private String token;
+        private String cursor;
+
+        VirtualUser(String userName) {
+            this.userName = userName;
+        }
+
+        // 이전 유저의 토큰과 post 는 쓰지 않는다. 로그인에 실패하면 다음 반복에서 다시 로그인한다.
+        void switchTo(String userName) {
+            this.userName = userName;
+            this.token = null;
+            this.postIds.clear();
+        }
+    }
+
+}
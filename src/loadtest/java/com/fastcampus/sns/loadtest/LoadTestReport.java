@@ -0,0 +1,19 @@
+package com.fastcampus.sns.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class LoadTestReport {
+    private final String startedAt;
+    private final int users;
+    private final int posts;
+    private final int threads;
+    private final long durationSeconds;
+    private final long totalRequests;
+    private final double throughputPerSecond;
+    private final Map<String, LatencyRecorder.EndpointStats> endpoints;
+}
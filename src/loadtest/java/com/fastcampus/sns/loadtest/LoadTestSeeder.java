@@ -0,0 +1,104 @@
+package com.fastcampus.sns.loadtest;
+
+import com.fastcampus.sns.configuration.PostIdSequenceInitializer;
+import com.fastcampus.sns.model.UserRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// 부하 테스트용 유저와 post 를 JDBC batch insert 로 채운다.
+// ApplicationRunner 는 ApplicationReadyEvent 전에 실행되므로 검색 색인은 채워진 post 로 만들어진다.
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadTestSeeder implements ApplicationRunner {
+
+    public static final String USER_NAME_PREFIX = "loadtest-user-";
+    public static final String PASSWORD = "password";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_USER_SQL = "INSERT INTO \"user\" (user_name, password, role, token_version, follower_count, registered_at) VALUES (?, ?, ?, 0, 0, ?)";
+    private static final String INSERT_POST_SQL = "INSERT INTO post (id, title, body, user_id, registered_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BCryptPasswordEncoder encoder;
+    private final PostIdSequenceInitializer postIdSequenceInitializer;
+    private final int users;
+    private final int posts;
+
+    public LoadTestSeeder(JdbcTemplate jdbcTemplate,
+                          BCryptPasswordEncoder encoder,
+                          PostIdSequenceInitializer postIdSequenceInitializer,
+                          @Value("${loadtest.users}") int users,
+                          @Value("${loadtest.posts}") int posts) {
+        // post 는 유저에게 나눠 주고, 부하는 유저로 로그인해 주므로 유저가 한 명 이상 있어야 한다.
+        if (users <= 0 || posts < 0) {
+            throw new IllegalArgumentException(String.format("loadtest.users must be positive and loadtest.posts must not be negative (users=%d, posts=%d)", users, posts));
+        }
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.encoder = encoder;
+        this.postIdSequenceInitializer = postIdSequenceInitializer;
+        this.users = users;
+        this.posts = posts;
+    }
+
+    public static String userName(int index) {
+        return USER_NAME_PREFIX + index;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        final long startedAt = System.nanoTime();
+
+        final List<Integer> userIds = seedUsers();
+        seedPosts(userIds);
+
+        log.info("Seeded {} users and {} posts in {} ms", users, posts, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    // 모든 유저가 같은 password 를 쓰므로 hash 는 한번만 계산한다.
+    private List<Integer> seedUsers() {
+        final String password = encoder.encode(PASSWORD);
+        final Timestamp now = Timestamp.from(Instant.now());
+
+        final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            batch.add(new Object[]{userName(i), password, UserRole.USER.name(), now});
+            if (batch.size() == BATCH_SIZE || i == users - 1) {
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, batch);
+                batch.clear();
+            }
+        }
+
+        return jdbcTemplate.queryForList("SELECT id FROM \"user\" WHERE user_name LIKE ? ORDER BY id", Integer.class, USER_NAME_PREFIX + "%");
+    }
+
+    private void seedPosts(List<Integer> userIds) {
+        final Timestamp now = Timestamp.from(Instant.now());
+
+        final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < posts; i++) {
+            final int id = i + 1;
+            batch.add(new Object[]{id, "title " + id, "load test post " + id + " #loadtest", userIds.get(i % userIds.size()), now});
+            if (batch.size() == BATCH_SIZE || i == posts - 1) {
+                jdbcTemplate.batchUpdate(INSERT_POST_SQL, batch);
+                batch.clear();
+            }
+        }
+
+        // id 를 직접 넣었으므로 서버가 시작할 때와 같은 방법으로 sequence 를 그 뒤로 옮긴다.
+        postIdSequenceInitializer.initialize();
+    }
+
+}
@@ -1,8 +1,14 @@
 package com.fastcampus.sns.configuration;
 
 import com.fastcampus.sns.configuration.filter.JwtTokenFilter;
+import com.fastcampus.sns.configuration.filter.RateLimitFilter;
 import com.fastcampus.sns.exception.CustomAuthenticationEntryPoint;
+import com.fastcampus.sns.repository.RateLimitRepository;
+import com.fastcampus.sns.repository.TokenVersionRepository;
 import com.fastcampus.sns.service.UserService;
+import com.fastcampus.sns.util.JwtTokenCache;
+import com.fastcampus.sns.util.JwtTokenUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
@@ -18,8 +24,14 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class AuthenticationConfig extends WebSecurityConfigurerAdapter {
 
     private final UserService userService;
-    @Value("${jwt.secret-key}")
-    private String key;
+    private final JwtTokenCache tokenCache;
+    private final JwtTokenUtils jwtTokenUtils;
+    private final TokenVersionRepository tokenVersionRepository;
+    private final RateLimitRepository rateLimitRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${rate-limit.enabled}")
+    private boolean rateLimitEnabled;
 
     @Override
     protected void configure(final HttpSecurity http) throws Exception {
@@ -31,8 +43,13 @@ public class AuthenticationConfig extends WebSecurityConfigurerAdapter {
                 .sessionManagement()
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
-                .addFilterBefore(new JwtTokenFilter(key, userService), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenFilter(jwtTokenUtils, userService, tokenCache, tokenVersionRepository, meterRegistry), UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling()
                 .authenticationEntryPoint(new CustomAuthenticationEntryPoint());
+
+        // 인증 결과로 user id 를 알 수 있도록 JwtTokenFilter 다음에 둔다.
+        if (rateLimitEnabled) {
+            http.addFilterAfter(new RateLimitFilter(rateLimitRepository, meterRegistry), JwtTokenFilter.class);
+        }
     }
 }
@@ -0,0 +1,73 @@
+package com.fastcampus.sns.configuration;
+
+import com.fastcampus.sns.configuration.datasource.ReplicaLagChecker;
+import com.fastcampus.sns.configuration.datasource.ReplicationRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// spring.datasource.replica.url 이 설정된 경우에만 primary 와 replica pool 을 따로 만들고 트랜잭션의 readOnly 여부로 나눠 보낸다.
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        final HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${spring.datasource.replica.url}") String url,
+                                              @Value("${spring.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${spring.datasource.replica.password:${spring.datasource.password}}") String password,
+                                              @Value("${spring.datasource.replica.maximum-pool-size}") int maximumPoolSize) {
+        final HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagChecker replicaLagChecker(HikariDataSource replicaDataSource,
+                                               @Value("${spring.datasource.replica.lag.query}") String query,
+                                               @Value("${spring.datasource.replica.lag.column}") String column,
+                                               @Value("${spring.datasource.replica.lag.max-seconds}") long maxLagSeconds) {
+        final ReplicaLagChecker replicaLagChecker = new ReplicaLagChecker(replicaDataSource, query, column, maxLagSeconds);
+        replicaLagChecker.check();
+
+        return replicaLagChecker;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource, ReplicaLagChecker replicaLagChecker) {
+        final ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(replicaLagChecker);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicationRoutingDataSource.Target.PRIMARY, primaryDataSource,
+                ReplicationRoutingDataSource.Target.REPLICA, replicaDataSource
+        ));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+}
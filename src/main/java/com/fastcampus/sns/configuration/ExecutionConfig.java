@@ -0,0 +1,38 @@
+package com.fastcampus.sns.configuration;
+
+import com.fastcampus.sns.configuration.datasource.BoundedDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// execution.virtual-threads.enabled 가 true 이면 요청을 virtual thread 에서 처리하고,
+// 요청 thread 수가 더 이상 DB 동시 사용을 제한하지 않으므로 dataSource 를 semaphore 로 감싼다.
+@Configuration
+@ConditionalOnProperty(prefix = "execution.virtual-threads", name = "enabled", havingValue = "true")
+public class ExecutionConfig {
+
+    @Bean
+    public VirtualThreadTomcatCustomizer virtualThreadTomcatCustomizer() {
+        return new VirtualThreadTomcatCustomizer();
+    }
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(@Value("${execution.virtual-threads.max-db-concurrency}") int maxConcurrency,
+                                                                   @Value("${execution.virtual-threads.db-acquire-timeout-ms}") long acquireTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (beanName.equals("dataSource") && bean instanceof DataSource && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource((DataSource) bean, maxConcurrency, acquireTimeoutMs);
+                }
+
+                return bean;
+            }
+        };
+    }
+
+}
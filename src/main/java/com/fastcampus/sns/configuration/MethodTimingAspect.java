@@ -0,0 +1,52 @@
+package com.fastcampus.sns.configuration;
+
+import com.fastcampus.sns.exception.SnsApplicationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.concurrent.TimeUnit;
+
+// PostService, UserService 의 public method 와 JdbcTemplate 으로 직접 적재하는 repository 호출 시간을 기록한다.
+// Spring Data repository 는 spring.data.repository.invocations 로 따로 기록된다.
+@Aspect
+@RequiredArgsConstructor
+public class MethodTimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.fastcampus.sns.service.PostService.*(..)) || execution(public * com.fastcampus.sns.service.UserService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("sns.service", joinPoint);
+    }
+
+    @Around("execution(public * com.fastcampus.sns.repository.AlarmBatchRepository.*(..)) || execution(public * com.fastcampus.sns.repository.LikeCacheRepository.flush(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("sns.repository", joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        final long startedAt = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (SnsApplicationException e) {
+            exception = e.getErrorCode().name();
+            throw e;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder(name)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.fastcampus.sns.configuration;
+
+import com.fastcampus.sns.repository.EmitterRepository;
+import com.fastcampus.sns.repository.LikeCacheRepository;
+import com.fastcampus.sns.repository.PostCacheRepository;
+import com.fastcampus.sns.repository.TimelineCacheRepository;
+import com.fastcampus.sns.repository.UserCacheRepository;
+import com.fastcampus.sns.service.AlarmProducer;
+import com.fastcampus.sns.service.AlarmService;
+import com.fastcampus.sns.service.PasswordHashingService;
+import com.fastcampus.sns.util.JwtTokenCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+// Hikari pool, http 요청, Spring Data repository 는 actuator 가 기록하고, 그 외 캐시와 queue 는 여기서 등록한다.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MethodTimingAspect methodTimingAspect(MeterRegistry meterRegistry) {
+        return new MethodTimingAspect(meterRegistry);
+    }
+
+    // CaffeineCacheMetrics 와 같은 이름으로 등록한다.
+    @Bean
+    public MeterBinder cacheMetrics(UserCacheRepository userCacheRepository,
+                                    PostCacheRepository postCacheRepository,
+                                    TimelineCacheRepository timelineCacheRepository,
+                                    JwtTokenCache jwtTokenCache) {
+        return registry -> {
+            bindCache(registry, "user", userCacheRepository, UserCacheRepository::stats, UserCacheRepository::estimatedSize);
+            bindCache(registry, "post", postCacheRepository, PostCacheRepository::stats, PostCacheRepository::estimatedSize);
+            bindCache(registry, "timeline", timelineCacheRepository, TimelineCacheRepository::stats, TimelineCacheRepository::estimatedSize);
+            bindCache(registry, "jwt", jwtTokenCache, JwtTokenCache::stats, JwtTokenCache::estimatedSize);
+        };
+    }
+
+    @Bean
+    public MeterBinder alarmMetrics(AlarmProducer alarmProducer, AlarmService alarmService, EmitterRepository emitterRepository) {
+        return registry -> {
+            FunctionCounter.builder("sns.alarm.offered", alarmProducer, AlarmProducer::getOfferedCount).register(registry);
+            FunctionCounter.builder("sns.alarm.dropped", alarmProducer, AlarmProducer::getDroppedCount).register(registry);
+            FunctionCounter.builder("sns.alarm.written", alarmProducer, AlarmProducer::getWrittenCount).register(registry);
+            FunctionCounter.builder("sns.alarm.failed", alarmProducer, AlarmProducer::getFailedCount).register(registry);
+            Gauge.builder("sns.alarm.queue.size", alarmProducer, AlarmProducer::getQueueSize).register(registry);
+            Gauge.builder("sns.alarm.queue.remaining", alarmProducer, AlarmProducer::getRemainingCapacity).register(registry);
+            Gauge.builder("sns.alarm.sse.subscribers", emitterRepository, EmitterRepository::count).register(registry);
+            Gauge.builder("sns.alarm.sse.push.queue.size", alarmService, AlarmService::getPushQueueSize).register(registry);
+            FunctionCounter.builder("sns.alarm.sse.push.dropped", alarmService, AlarmService::getDroppedPushCount).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder workerMetrics(PasswordHashingService passwordHashingService, LikeCacheRepository likeCacheRepository) {
+        return registry -> {
+            Gauge.builder("sns.password.hashing.queue.size", passwordHashingService, PasswordHashingService::getQueueSize).register(registry);
+            Gauge.builder("sns.password.hashing.active", passwordHashingService, PasswordHashingService::getActiveCount).register(registry);
+            Gauge.builder("sns.like.pending", likeCacheRepository, LikeCacheRepository::pendingSize).register(registry);
+        };
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, String name, T cache, Function<T, CacheStats> stats, ToDoubleFunction<T> size) {
+        FunctionCounter.builder("cache.gets", cache, it -> stats.apply(it).hitCount()).tags("cache", name, "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", cache, it -> stats.apply(it).missCount()).tags("cache", name, "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", cache, it -> stats.apply(it).evictionCount()).tags("cache", name).register(registry);
+        Gauge.builder("cache.size", cache, size).tags("cache", name).register(registry);
+    }
+
+}
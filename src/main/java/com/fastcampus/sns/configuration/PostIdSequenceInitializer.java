@@ -0,0 +1,84 @@
+package com.fastcampus.sns.configuration;
+
+import com.fastcampus.sns.model.entity.PostEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+// hibernate 의 pooled optimizer 는 sequence 에서 읽은 값을 block 의 마지막 id 로 보고 그 앞의 ID_ALLOCATION_SIZE 개를 쓴다.
+// IDENTITY 로 저장된 post 가 있는 DB 에서 sequence 가 1 부터 시작하면 id 가 겹치므로, 요청을 받기 전에 sequence 를 기존 id 뒤로 옮긴다.
+@Slf4j
+@Component
+public class PostIdSequenceInitializer {
+
+    private static final String POST_TABLE = "post";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    @Autowired
+    public PostIdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this(jdbcTemplate, entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+    }
+
+    PostIdSequenceInitializer(JdbcTemplate jdbcTemplate, Dialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    // EntityManagerFactory 가 schema 를 만든 뒤, web server 가 요청을 받기 전에 실행된다.
+    @PostConstruct
+    public void initialize() {
+        final Long maxId = jdbcTemplate.queryForObject(String.format("SELECT MAX(id) FROM %s", POST_TABLE), Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        if (dialect.supportsSequences()) {
+            moveSequence(maxId);
+        } else {
+            moveTable(maxId);
+        }
+    }
+
+    // 현재 값을 보려면 nextval 을 한 번 써야 한다. 그 다음 block 은 이 값 뒤에서 시작하므로 maxId 이상이면 그대로 둔다.
+    private void moveSequence(long maxId) {
+        final Long next = jdbcTemplate.queryForObject(dialect.getSequenceNextValString(PostEntity.ID_SEQUENCE), Long.class);
+        if (next != null && next >= maxId) {
+            return;
+        }
+
+        final long restartWith = maxId + PostEntity.ID_ALLOCATION_SIZE;
+        jdbcTemplate.execute(String.format("ALTER SEQUENCE %s RESTART WITH %d", PostEntity.ID_SEQUENCE, restartWith));
+        log.info("Post id sequence {} moved from {} to {} (max post id {})", PostEntity.ID_SEQUENCE, next, restartWith, maxId);
+    }
+
+    // sequence 를 지원하지 않는 dialect (MySQL 등) 에서는 hibernate 가 next_val 컬럼 하나짜리 table 로 sequence 를 흉내 낸다.
+    // 읽은 값이 block 의 마지막 id 가 되므로 maxId + ID_ALLOCATION_SIZE 이상이어야 한다.
+    private void moveTable(long maxId) {
+        final long required = maxId + PostEntity.ID_ALLOCATION_SIZE;
+        final List<Long> values = jdbcTemplate.queryForList(String.format("SELECT next_val FROM %s", PostEntity.ID_SEQUENCE), Long.class);
+
+        final int updated;
+        if (values.isEmpty()) {
+            updated = jdbcTemplate.update(String.format("INSERT INTO %s (next_val) VALUES (?)", PostEntity.ID_SEQUENCE), required);
+        } else if (values.get(0) < required) {
+            // 다른 서버가 먼저 옮겼다면 갱신되지 않는다.
+            updated = jdbcTemplate.update(String.format("UPDATE %s SET next_val = ? WHERE next_val = ?", PostEntity.ID_SEQUENCE), required, values.get(0));
+        } else {
+            updated = 0;
+        }
+
+        if (updated > 0) {
+            log.info("Post id sequence table {} moved to {} (max post id {})", PostEntity.ID_SEQUENCE, required, maxId);
+        }
+    }
+
+}
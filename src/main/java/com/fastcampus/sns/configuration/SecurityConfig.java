@@ -1,5 +1,6 @@
 package com.fastcampus.sns.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,8 +9,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 public class SecurityConfig {
 
     @Bean
-    public BCryptPasswordEncoder encodePassword() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder encodePassword(@Value("${password.bcrypt.strength}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
 }
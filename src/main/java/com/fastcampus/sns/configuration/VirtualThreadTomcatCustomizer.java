@@ -0,0 +1,57 @@
+package com.fastcampus.sns.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Java 11 로 빌드하므로 Executors.newVirtualThreadPerTaskExecutor 는 reflection 으로 찾는다.
+// 실행 중인 JVM 이 virtual thread 를 지원하지 않으면 Tomcat 의 기본 thread pool 을 그대로 쓴다.
+@Slf4j
+public class VirtualThreadTomcatCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler>, DisposableBean {
+
+    private final ExecutorService executor = newVirtualThreadExecutor();
+
+    public boolean isAvailable() {
+        return executor != null;
+    }
+
+    @Override
+    public void customize(ProtocolHandler protocolHandler) {
+        if (executor == null) {
+            log.warn("Virtual threads are not supported on Java {}. Tomcat uses platform threads.", System.getProperty("java.version"));
+            return;
+        }
+
+        protocolHandler.setExecutor(executor);
+        log.info("Tomcat handles requests on virtual threads.");
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            // Java 19, 20 에서 preview 를 켜지 않은 경우
+            if (e.getTargetException() instanceof UnsupportedOperationException) {
+                return null;
+            }
+            throw new IllegalStateException(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.fastcampus.sns.configuration.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+// replica 에서 lag 조회 query 를 주기적으로 실행해 max-seconds 이하일 때만 replica 를 사용한다.
+// 조회에 실패하거나 lag 이 null 이면(replication 이 멈춘 경우) replica 를 사용하지 않는다.
+@Slf4j
+public class ReplicaLagChecker {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String query;
+    private final String column;
+    private final long maxLagSeconds;
+
+    private volatile boolean available;
+
+    public ReplicaLagChecker(DataSource replicaDataSource, String query, String column, long maxLagSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.query = query;
+        this.column = column;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag.check-interval-ms}")
+    public void check() {
+        Long lagSeconds;
+        try {
+            lagSeconds = jdbcTemplate.query(query, rs -> {
+                if (!rs.next()) {
+                    return null;
+                }
+                final long lag = rs.getLong(column);
+                return rs.wasNull() ? null : lag;
+            });
+        } catch (DataAccessException e) {
+            log.error("Error occurs while checking replica lag. {}", e.toString());
+            lagSeconds = null;
+        }
+
+        final boolean next = lagSeconds != null && lagSeconds <= maxLagSeconds;
+        if (next != available) {
+            log.warn("Replica is {}. lag: {}s, max: {}s", next ? "available" : "unavailable, route reads to primary", lagSeconds, maxLagSeconds);
+        }
+        available = next;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.fastcampus.sns.configuration.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// readOnly 트랜잭션은 replica 로, 나머지는 primary 로 보낸다. replica 가 지연되거나 응답하지 않으면 모두 primary 로 보낸다.
+// 트랜잭션의 readOnly 여부는 connection 을 얻은 뒤에 정해지므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA,
+    }
+
+    private final ReplicaLagChecker replicaLagChecker;
+
+    public ReplicationRoutingDataSource(ReplicaLagChecker replicaLagChecker) {
+        this.replicaLagChecker = replicaLagChecker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLagChecker.isAvailable()) {
+            return Target.REPLICA;
+        }
+
+        return Target.PRIMARY;
+    }
+
+}
@@ -1,9 +1,14 @@
 package com.fastcampus.sns.configuration.filter;
 
+import com.fastcampus.sns.exception.SnsApplicationException;
 import com.fastcampus.sns.model.User;
+import com.fastcampus.sns.repository.TokenVersionRepository;
 import com.fastcampus.sns.service.UserService;
+import com.fastcampus.sns.util.JwtTokenCache;
 import com.fastcampus.sns.util.JwtTokenUtils;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,36 +23,87 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
-@RequiredArgsConstructor
 public class JwtTokenFilter extends OncePerRequestFilter {
 
-    private final String key;
+    // EventSource 는 header 를 보낼 수 없으므로 SSE 구독 요청은 query string 의 구독 전용 token 으로도 인증한다.
+    private static final List<String> TOKEN_IN_QUERY_URLS = List.of("/api/v1/users/alarm/subscribe");
+
+    private final JwtTokenUtils jwtTokenUtils;
     private final UserService userService;
+    private final JwtTokenCache tokenCache;
+    private final TokenVersionRepository tokenVersionRepository;
+    private final MeterRegistry meterRegistry;
+    private final Timer parseTimer;
+    private final Timer userLoadTimer;
+
+    public JwtTokenFilter(JwtTokenUtils jwtTokenUtils,
+                          UserService userService,
+                          JwtTokenCache tokenCache,
+                          TokenVersionRepository tokenVersionRepository,
+                          MeterRegistry meterRegistry) {
+        this.jwtTokenUtils = jwtTokenUtils;
+        this.userService = userService;
+        this.tokenCache = tokenCache;
+        this.tokenVersionRepository = tokenVersionRepository;
+        this.meterRegistry = meterRegistry;
+        this.parseTimer = Timer.builder("sns.auth.token.parse").register(meterRegistry);
+        this.userLoadTimer = Timer.builder("sns.auth.user.load").register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) throws ServletException, IOException {
 
         // get header
         final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (header == null || !header.startsWith("Bearer")) {
+        final boolean hasBearer = header != null && header.startsWith("Bearer");
+        final boolean tokenInQuery = !hasBearer && TOKEN_IN_QUERY_URLS.contains(request.getRequestURI()) && request.getParameter("token") != null;
+        if (!hasBearer && !tokenInQuery) {
             log.error("Error occurs while getting header. header is null or invalid");
             filterChain.doFilter(request, response);
             return;
         }
 
         try {
-            final String token = header.split(" ")[1].trim();
+            final String token = tokenInQuery ? request.getParameter("token") : header.split(" ")[1].trim();
+
+            final long parseStartedAt = System.nanoTime();
+            final Claims claims = tokenCache.getClaims(token, jwtTokenUtils::extractClaims);
+            parseTimer.record(System.nanoTime() - parseStartedAt, TimeUnit.NANOSECONDS);
+
+            // 로그에 남을 수 있는 query string 으로는 구독 전용 token 만 받고, 구독 전용 token 은 다른 요청에 쓸 수 없다.
+            if (tokenInQuery != jwtTokenUtils.isSubscribeToken(claims)) {
+                log.error("Token is not allowed for this request");
+                countFailure("scope");
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-            if (JwtTokenUtils.isExpired(token, key)) {
+            if (jwtTokenUtils.isExpired(claims)) {
                 log.error("Key is expired");
+                countFailure("expired");
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            String userName = JwtTokenUtils.getUserName(token ,key);
-            final User user = userService.loadUserByUserName(userName);
+            final long loadStartedAt = System.nanoTime();
+            final User user;
+            if (jwtTokenUtils.isSelfContained() && jwtTokenUtils.hasPrincipal(claims)) {
+                user = jwtTokenUtils.getUser(claims);
+
+                if (tokenVersionRepository.getVersion(user.getId()) != jwtTokenUtils.getVersion(claims)) {
+                    log.error("Token is revoked");
+                    countFailure("revoked");
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+            } else {
+                String userName = jwtTokenUtils.getUserName(claims);
+                user = userService.loadUserByUserName(userName);
+            }
+            userLoadTimer.record(System.nanoTime() - loadStartedAt, TimeUnit.NANOSECONDS);
 
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
 
@@ -55,6 +111,7 @@ public class JwtTokenFilter extends OncePerRequestFilter {
             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         } catch (RuntimeException e) {
             log.error("Error occurs while validating. {}", e.toString());
+            countFailure(e instanceof SnsApplicationException ? ((SnsApplicationException) e).getErrorCode().name() : e.getClass().getSimpleName());
             filterChain.doFilter(request, response);
             return;
         }
@@ -62,4 +119,8 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
 
     }
+
+    private void countFailure(String reason) {
+        meterRegistry.counter("sns.auth.failures", "reason", reason).increment();
+    }
 }
@@ -0,0 +1,60 @@
+package com.fastcampus.sns.configuration.filter;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.ErrorResponseBody;
+import com.fastcampus.sns.model.User;
+import com.fastcampus.sns.repository.RateLimitRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// JwtTokenFilter 다음에 실행되어, 인증된 요청은 user id 로, 그 외에는 client ip 로 요청 수를 제한한다.
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitRepository rateLimitRepository;
+    private final Counter rejectedCounter;
+
+    // 거절은 공격이나 잘못된 client 로 한꺼번에 몰리므로 로그 대신 GlobalControllerAdvice 와 같은 sns.errors 로 센다.
+    public RateLimitFilter(RateLimitRepository rateLimitRepository, MeterRegistry meterRegistry) {
+        this.rateLimitRepository = rateLimitRepository;
+        this.rejectedCounter = meterRegistry.counter("sns.errors", "code", ErrorCode.RATE_LIMIT_EXCEEDED.name(), "exception", "None");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) throws ServletException, IOException {
+        final Integer userId = getUserId(SecurityContextHolder.getContext().getAuthentication());
+
+        if (!rateLimitRepository.tryAcquire(userId, request.getRemoteAddr())) {
+            rejectedCounter.increment();
+            log.debug("Rate limit exceeded. user {}, ip {}", userId, request.getRemoteAddr());
+            ErrorResponseBody.write(response, ErrorCode.RATE_LIMIT_EXCEEDED);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static Integer getUserId(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof User)) {
+            return null;
+        }
+
+        return ((User) authentication.getPrincipal()).getId();
+    }
+
+}
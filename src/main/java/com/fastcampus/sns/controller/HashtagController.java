@@ -0,0 +1,29 @@
+package com.fastcampus.sns.controller;
+
+import com.fastcampus.sns.controller.response.Response;
+import com.fastcampus.sns.controller.response.TrendingHashtagResponse;
+import com.fastcampus.sns.service.HashtagService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/v1/hashtags")
+@RequiredArgsConstructor
+public class HashtagController {
+
+    private final HashtagService hashtagService;
+
+    @GetMapping("/trending")
+    public Response<List<TrendingHashtagResponse>> trending(@RequestParam(defaultValue = "10") int size) {
+        return Response.success(hashtagService.trending(size).stream()
+                .map(TrendingHashtagResponse::fromTrendingHashtag)
+                .collect(Collectors.toList()));
+    }
+
+}
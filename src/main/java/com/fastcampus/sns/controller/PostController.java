@@ -1,23 +1,47 @@
 package com.fastcampus.sns.controller;
 
+import com.fastcampus.sns.controller.request.CommentCreateRequest;
+import com.fastcampus.sns.controller.request.PostBulkCreateRequest;
 import com.fastcampus.sns.controller.request.PostCreateRequest;
 import com.fastcampus.sns.controller.request.PostModifyRequest;
+import com.fastcampus.sns.controller.response.CommentResponse;
 import com.fastcampus.sns.controller.response.PostResponse;
+import com.fastcampus.sns.controller.response.PostStreamWriter;
 import com.fastcampus.sns.controller.response.Response;
+import com.fastcampus.sns.controller.response.ScrollResponse;
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
 import com.fastcampus.sns.model.Post;
+import com.fastcampus.sns.model.PostContent;
+import com.fastcampus.sns.model.User;
+import com.fastcampus.sns.model.UserRole;
+import com.fastcampus.sns.service.CommentService;
+import com.fastcampus.sns.service.LikeService;
 import com.fastcampus.sns.service.PostService;
+import com.fastcampus.sns.util.ClassUtils;
+import com.fastcampus.sns.util.CursorUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @RestController
 @RequestMapping("/api/v1/posts")
 @RequiredArgsConstructor
 public class PostController {
 
     private final PostService postService;
+    private final LikeService likeService;
+    private final CommentService commentService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public Response<Void> create(@RequestBody PostCreateRequest request, Authentication authentication) {
@@ -26,16 +50,35 @@ public class PostController {
         return Response.success();
     }
 
+    // 한 번에 post.bulk.max-size 건까지 저장하는 import 용 API 이므로 ADMIN 만 호출할 수 있다.
+    @PostMapping("/bulk")
+    public Response<Integer> bulkCreate(@RequestBody PostBulkCreateRequest request, Authentication authentication) {
+        if (getUser(authentication).getUserRole() != UserRole.ADMIN) {
+            throw new SnsApplicationException(ErrorCode.INVALID_PERMISSION, String.format("%s has no permission to bulk create", authentication.getName()));
+        }
+
+        final List<PostContent> contents = request.getPosts() == null ? List.of() : request.getPosts().stream()
+                .map(it -> new PostContent(it.getTitle(), it.getBody()))
+                .collect(Collectors.toList());
+
+        return Response.success(postService.bulkCreate(contents, authentication.getName()));
+    }
+
+    @GetMapping("/{postId}")
+    public Response<PostResponse> get(@PathVariable Integer postId, Authentication authentication) {
+        return Response.success(PostResponse.fromPost(postService.get(postId)));
+    }
+
     @PutMapping("/{postId}")
     public Response<PostResponse> modify(@PathVariable Integer postId, @RequestBody PostModifyRequest request, Authentication authentication) {
-        final Post post = postService.modify(request.getTitle(), request.getBody(), authentication.getName(), postId);
+        final Post post = postService.modify(request.getTitle(), request.getBody(), getUser(authentication).getId(), postId);
 
         return Response.success(PostResponse.fromPost(post));
     }
 
     @DeleteMapping("/{postId}")
     public Response<Void> delete(@PathVariable Integer postId, Authentication authentication) {
-        postService.delete(authentication.getName(), postId);
+        postService.delete(getUser(authentication).getId(), postId);
         return Response.success();
     }
 
@@ -44,9 +87,66 @@ public class PostController {
         return Response.success(postService.list(pageable).map(PostResponse::fromPost));
     }
 
+    @GetMapping("/scroll")
+    public Response<ScrollResponse<PostResponse>> scroll(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size, Authentication authentication) {
+        return Response.success(ScrollResponse.of(postService.scroll(CursorUtils.decode(cursor), CursorUtils.checkSize(size)).map(PostResponse::fromPost), PostResponse::getId));
+    }
+
+    // scroll 과 같은 응답을 post 를 모으지 않고 읽는 대로 출력한다. 출력을 시작한 뒤에는 에러 응답으로 바꿀 수 없다.
+    @GetMapping("/stream")
+    public void stream(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size, HttpServletResponse response, Authentication authentication) throws IOException {
+        final Integer lastId = CursorUtils.decode(cursor);
+        CursorUtils.checkSize(size);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        try (PostStreamWriter writer = PostStreamWriter.of(objectMapper, response.getOutputStream())) {
+            writer.start();
+            final boolean hasNext = postService.stream(lastId, size, writer::write);
+            writer.end(hasNext);
+        }
+    }
+
+    @GetMapping("/timeline")
+    public Response<ScrollResponse<PostResponse>> timeline(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size, Authentication authentication) {
+        return Response.success(ScrollResponse.of(postService.timeline(getUser(authentication).getId(), CursorUtils.decode(cursor), CursorUtils.checkSize(size)).map(PostResponse::fromPost), PostResponse::getId));
+    }
+
+    @GetMapping("/search")
+    public Response<Page<PostResponse>> search(@RequestParam String q, Pageable pageable, Authentication authentication) {
+        return Response.success(postService.search(q, pageable).map(PostResponse::fromPost));
+    }
+
     @GetMapping("/my")
     public Response<Page<PostResponse>> myList(Pageable pageable, Authentication authentication) {
-        return Response.success(postService.myList(authentication.getName(), pageable).map(PostResponse::fromPost));
+        return Response.success(postService.myList(getUser(authentication).getId(), pageable).map(PostResponse::fromPost));
+    }
+
+    @PostMapping("/{postId}/likes")
+    public Response<Void> like(@PathVariable Integer postId, Authentication authentication) {
+        likeService.like(postId, getUser(authentication).getId());
+        return Response.success();
+    }
+
+    @GetMapping("/{postId}/likes")
+    public Response<Long> likeCount(@PathVariable Integer postId, Authentication authentication) {
+        return Response.success(likeService.count(postId));
+    }
+
+    @PostMapping("/{postId}/comments")
+    public Response<Void> comment(@PathVariable Integer postId, @RequestBody CommentCreateRequest request, Authentication authentication) {
+        commentService.create(postId, getUser(authentication).getId(), request.getComment());
+        return Response.success();
+    }
+
+    @GetMapping("/{postId}/comments")
+    public Response<ScrollResponse<CommentResponse>> comments(@PathVariable Integer postId, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size, Authentication authentication) {
+        return Response.success(ScrollResponse.of(commentService.list(postId, CursorUtils.decode(cursor), CursorUtils.checkSize(size)).map(CommentResponse::fromComment), CommentResponse::getId));
+    }
+
+    private User getUser(Authentication authentication) {
+        return ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
     }
 
 }
@@ -2,16 +2,33 @@ package com.fastcampus.sns.controller;
 
 import com.fastcampus.sns.controller.request.UserJoinRequest;
 import com.fastcampus.sns.controller.request.UserLoginRequest;
+import com.fastcampus.sns.controller.response.AlarmResponse;
 import com.fastcampus.sns.controller.response.Response;
+import com.fastcampus.sns.controller.response.SubscribeTokenResponse;
 import com.fastcampus.sns.controller.response.UserJoinResponse;
 import com.fastcampus.sns.controller.response.UserLoginResponse;
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
 import com.fastcampus.sns.model.User;
+import com.fastcampus.sns.service.AlarmService;
+import com.fastcampus.sns.service.FollowService;
 import com.fastcampus.sns.service.UserService;
+import com.fastcampus.sns.util.ClassUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -19,6 +36,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final UserService userService;
+    private final AlarmService alarmService;
+    private final FollowService followService;
 
     @PostMapping("/join")
     public Response<UserJoinResponse> join(@RequestBody UserJoinRequest request) {
@@ -28,10 +47,43 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public Response<UserLoginResponse> login(@RequestBody UserLoginRequest request) {
-        final String token = userService.login(request.getName(), request.getPassword());
+    public Response<UserLoginResponse> login(@RequestBody UserLoginRequest request, HttpServletRequest httpServletRequest) {
+        final String token = userService.login(request.getName(), request.getPassword(), httpServletRequest.getRemoteAddr());
 
         return Response.success(new UserLoginResponse(token));
     }
 
+    @PostMapping("/{userId}/follow")
+    public Response<Void> follow(@PathVariable Integer userId, Authentication authentication) {
+        followService.follow(getUser(authentication).getId(), userId);
+        return Response.success();
+    }
+
+    @DeleteMapping("/{userId}/follow")
+    public Response<Void> unfollow(@PathVariable Integer userId, Authentication authentication) {
+        followService.unfollow(getUser(authentication).getId(), userId);
+        return Response.success();
+    }
+
+    @GetMapping("/alarm")
+    public Response<Page<AlarmResponse>> alarm(Pageable pageable, Authentication authentication) {
+        return Response.success(alarmService.list(getUser(authentication).getId(), pageable).map(AlarmResponse::fromAlarm));
+    }
+
+    // EventSource 로 구독할 때 ?token= 에 담아 보낼 짧은 구독 전용 token 을 발급한다.
+    @PostMapping("/alarm/subscribe-token")
+    public Response<SubscribeTokenResponse> subscribeToken(Authentication authentication) {
+        return Response.success(new SubscribeTokenResponse(userService.issueSubscribeToken(getUser(authentication).getUsername())));
+    }
+
+    @GetMapping(value = "/alarm/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(Authentication authentication) {
+        return alarmService.subscribe(getUser(authentication).getId());
+    }
+
+    private User getUser(Authentication authentication) {
+        return ClassUtils.getSafeCastInstance(authentication.getPrincipal(), User.class)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.INTERNAL_SERVER_ERROR, "Casting to User class failed"));
+    }
+
 }
@@ -0,0 +1,14 @@
+package com.fastcampus.sns.controller.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostBulkCreateRequest {
+    private List<PostCreateRequest> posts;
+}
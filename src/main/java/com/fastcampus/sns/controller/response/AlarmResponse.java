@@ -0,0 +1,41 @@
+package com.fastcampus.sns.controller.response;
+
+import com.fastcampus.sns.model.Alarm;
+import com.fastcampus.sns.model.AlarmType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Getter
+@AllArgsConstructor
+public class AlarmResponse {
+    private Integer id;
+
+    private AlarmType alarmType;
+
+    private Integer fromUserId;
+
+    private Integer targetId;
+
+    private String text;
+
+    private Timestamp registeredAt;
+
+    private Timestamp updatedAt;
+
+    private Timestamp deletedAt;
+
+    public static AlarmResponse fromAlarm(Alarm alarm) {
+        return new AlarmResponse(
+                alarm.getId(),
+                alarm.getAlarmType(),
+                alarm.getFromUserId(),
+                alarm.getTargetId(),
+                alarm.getAlarmType().getAlarmText(),
+                alarm.getRegisteredAt(),
+                alarm.getUpdatedAt(),
+                alarm.getDeletedAt()
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package com.fastcampus.sns.controller.response;
+
+import com.fastcampus.sns.model.Comment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Getter
+@AllArgsConstructor
+public class CommentResponse {
+    private Integer id;
+
+    private String comment;
+
+    private Integer userId;
+
+    private String userName;
+
+    private Integer postId;
+
+    private Timestamp registeredAt;
+
+    private Timestamp updatedAt;
+
+    private Timestamp deletedAt;
+
+    public static CommentResponse fromComment(Comment comment) {
+        return new CommentResponse(
+                comment.getId(),
+                comment.getComment(),
+                comment.getUserId(),
+                comment.getUserName(),
+                comment.getPostId(),
+                comment.getRegisteredAt(),
+                comment.getUpdatedAt(),
+                comment.getDeletedAt()
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package com.fastcampus.sns.controller.response;
+
+import com.fastcampus.sns.model.Post;
+import com.fastcampus.sns.util.CursorUtils;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+
+// Response<ScrollResponse<PostResponse>> 와 같은 모양의 JSON 을 post 한 건씩 바로 출력한다.
+// 목록을 모으지 않고 필드를 직접 쓰므로 page 크기와 관계없이 메모리 사용량이 일정하다.
+public class PostStreamWriter implements Closeable {
+
+    // 이 수만큼 쓸 때마다 client 로 내보낸다. post 마다 내보내면 socket write 가 post 수만큼 생긴다.
+    private static final int FLUSH_INTERVAL = 100;
+    // com.fasterxml.jackson.databind.util.StdDateFormat 의 기본 형식
+    private static final String ISO_8601_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSxxx";
+
+    private final JsonGenerator generator;
+    private final DateTimeFormatter timestampFormatter;
+    private Integer lastId;
+    private int count;
+
+    private PostStreamWriter(JsonGenerator generator, DateTimeFormatter timestampFormatter) {
+        this.generator = generator;
+        this.timestampFormatter = timestampFormatter;
+    }
+
+    // Timestamp 는 ObjectMapper 를 거치지 않고 직접 쓰되, ObjectMapper 설정과 같은 형식으로 쓴다.
+    // WRITE_DATES_AS_TIMESTAMPS 가 켜져 있으면 epoch millis, 꺼져 있으면(Spring Boot 기본) StdDateFormat 과 같은 ISO-8601 문자열이다.
+    // 중간에 실패하면 닫히지 않은 JSON 이 그대로 나가야 client 가 잘린 응답을 알 수 있으므로, close 할 때 배열과 객체를 자동으로 닫지 않는다.
+    public static PostStreamWriter of(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+        final DateTimeFormatter timestampFormatter = objectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                ? null
+                : DateTimeFormatter.ofPattern(ISO_8601_PATTERN).withZone(objectMapper.getSerializationConfig().getTimeZone().toZoneId());
+
+        return new PostStreamWriter(generator, timestampFormatter);
+    }
+
+    public void start() throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("resultCode", "SUCCESS");
+        generator.writeObjectFieldStart("result");
+        generator.writeArrayFieldStart("content");
+    }
+
+    public void write(Post post) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", post.getId());
+            generator.writeStringField("title", post.getTitle());
+            generator.writeStringField("body", post.getBody());
+            generator.writeObjectFieldStart("user");
+            generator.writeNumberField("id", post.getUser().getId());
+            generator.writeStringField("userName", post.getUser().getUsername());
+            generator.writeStringField("userRole", post.getUser().getUserRole() == null ? null : post.getUser().getUserRole().name());
+            generator.writeEndObject();
+            writeTimestampField("registeredAt", post.getRegisteredAt());
+            writeTimestampField("updatedAt", post.getUpdatedAt());
+            writeTimestampField("deletedAt", post.getDeletedAt());
+            generator.writeEndObject();
+
+            if (++count % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        lastId = post.getId();
+    }
+
+    public void end(boolean hasNext) throws IOException {
+        generator.writeEndArray();
+        generator.writeStringField("nextCursor", hasNext ? CursorUtils.encode(lastId) : null);
+        generator.writeBooleanField("hasNext", hasNext);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeTimestampField(String name, Timestamp timestamp) throws IOException {
+        if (timestamp == null) {
+            generator.writeNullField(name);
+        } else if (timestampFormatter == null) {
+            generator.writeNumberField(name, timestamp.getTime());
+        } else {
+            generator.writeStringField(name, timestampFormatter.format(timestamp.toInstant()));
+        }
+    }
+
+    // 쓴 만큼 내보내 응답을 commit 해 두면, 이후의 에러 처리가 잘린 body 뒤에 에러 응답을 덧붙이지 않는다.
+    @Override
+    public void close() throws IOException {
+        generator.flush();
+        generator.close();
+    }
+
+}
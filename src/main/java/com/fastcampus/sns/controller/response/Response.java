@@ -20,16 +20,4 @@ public class Response<T> {
     public static <T> Response<T> success(T result) {
         return new Response<>("SUCCESS", result);
     }
-
-    public String toStream() {
-        if (result == null) {
-            return "{" +
-                    "\"resultCode\": \"" + resultCode + "\", " +
-                    "\"result\": " + null + "}";
-        }
-
-        return "{" +
-                "\"resultCode\": \"" + resultCode + "\", " +
-                "\"result\": \"" + result + "\"}";
-    }
 }
@@ -0,0 +1,26 @@
+package com.fastcampus.sns.controller.response;
+
+import com.fastcampus.sns.util.CursorUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class ScrollResponse<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> ScrollResponse<T> of(Slice<T> slice, Function<T, Integer> idExtractor) {
+        final List<T> content = slice.getContent();
+        final String nextCursor = slice.hasNext() ? CursorUtils.encode(idExtractor.apply(content.get(content.size() - 1))) : null;
+
+        return new ScrollResponse<>(content, nextCursor, slice.hasNext());
+    }
+
+}
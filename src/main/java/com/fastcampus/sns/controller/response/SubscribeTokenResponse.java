@@ -0,0 +1,12 @@
+package com.fastcampus.sns.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SubscribeTokenResponse {
+
+    private String token;
+
+}
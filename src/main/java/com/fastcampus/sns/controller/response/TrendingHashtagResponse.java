@@ -0,0 +1,17 @@
+package com.fastcampus.sns.controller.response;
+
+import com.fastcampus.sns.model.TrendingHashtag;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TrendingHashtagResponse {
+    private String tag;
+
+    private long count;
+
+    public static TrendingHashtagResponse fromTrendingHashtag(TrendingHashtag trendingHashtag) {
+        return new TrendingHashtagResponse(trendingHashtag.getTag(), trendingHashtag.getCount());
+    }
+}
@@ -13,6 +13,16 @@ public enum ErrorCode {
     INVALID_TOKEN(HttpStatus.UNAUTHORIZED, "Token is invalid."),
     POST_NOT_FOUND(HttpStatus.NOT_FOUND, "Post not founded"),
     INVALID_PERMISSION(HttpStatus.UNAUTHORIZED, "Permission is invalid"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "Cursor is invalid"),
+    INVALID_PAGE_SIZE(HttpStatus.BAD_REQUEST, "Page size is invalid"),
+    INVALID_BULK_SIZE(HttpStatus.BAD_REQUEST, "Bulk size is invalid"),
+    ALREADY_LIKED(HttpStatus.CONFLICT, "User already liked post"),
+    ALREADY_FOLLOWED(HttpStatus.CONFLICT, "User already followed"),
+    FOLLOW_NOT_FOUND(HttpStatus.NOT_FOUND, "Follow not founded"),
+    INVALID_FOLLOW(HttpStatus.BAD_REQUEST, "User cannot follow oneself"),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "Too many requests"),
+    RATE_LIMIT_EXCEEDED(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded"),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Service is busy"),
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error"),
     ;
 
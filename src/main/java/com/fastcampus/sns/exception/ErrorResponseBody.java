@@ -0,0 +1,43 @@
+package com.fastcampus.sns.exception;
+
+import com.fastcampus.sns.controller.response.Response;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+// ErrorCode 마다 Response.error(errorCode.name()) 를 직렬화한 UTF-8 body 를 처음 한번만 만들어 두고 그대로 쓴다.
+public class ErrorResponseBody {
+
+    private static final Map<ErrorCode, byte[]> BODIES = new EnumMap<>(ErrorCode.class);
+
+    static {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            try {
+                BODIES.put(errorCode, objectMapper.writeValueAsBytes(Response.error(errorCode.name())));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    // 모든 요청이 같은 배열을 공유하므로 수정하면 안 된다.
+    public static byte[] of(ErrorCode errorCode) {
+        return BODIES.get(errorCode);
+    }
+
+    public static void write(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        final byte[] body = of(errorCode);
+
+        response.setStatus(errorCode.getStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+}
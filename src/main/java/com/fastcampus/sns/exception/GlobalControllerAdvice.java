@@ -1,28 +1,49 @@
 package com.fastcampus.sns.exception;
 
-import com.fastcampus.sns.controller.response.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import javax.servlet.http.HttpServletResponse;
+
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalControllerAdvice {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(SnsApplicationException.class)
-    public ResponseEntity<?> applicationHandler(SnsApplicationException e) {
+    public ResponseEntity<byte[]> applicationHandler(SnsApplicationException e, HttpServletResponse response) {
         log.error("Error occurs {}", e.toString());
-        return ResponseEntity.status(e.getErrorCode().getStatus())
-                .body(Response.error(e.getErrorCode().name()));
+        return errorResponse(e.getErrorCode(), e, response);
     }
 
+    // 예상하지 못한 예외이므로 stack trace 를 남긴다.
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<?> applicationHandler(RuntimeException e) {
-        log.error("Error occurs {}", e.toString());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Response.error(ErrorCode.INTERNAL_SERVER_ERROR.name()));
+    public ResponseEntity<byte[]> applicationHandler(RuntimeException e, HttpServletResponse response) {
+        log.error("Error occurs", e);
+        return errorResponse(ErrorCode.INTERNAL_SERVER_ERROR, e, response);
+    }
+
+    // 미리 직렬화한 body 를 그대로 쓴다.
+    // stream 응답처럼 이미 body 를 쓰기 시작했으면 에러 body 를 덧붙이지 않고 잘린 응답 그대로 둔다.
+    private ResponseEntity<byte[]> errorResponse(ErrorCode errorCode, RuntimeException e, HttpServletResponse response) {
+        meterRegistry.counter("sns.errors", "code", errorCode.name(), "exception", e.getClass().getSimpleName()).increment();
+        if (response.isCommitted()) {
+            return null;
+        }
+
+        final byte[] body = ErrorResponseBody.of(errorCode);
+
+        return ResponseEntity.status(errorCode.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
     }
 
 }
@@ -0,0 +1,51 @@
+package com.fastcampus.sns.model;
+
+import com.fastcampus.sns.model.entity.AlarmEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Getter
+@AllArgsConstructor
+public class Alarm {
+    private Integer id;
+
+    private AlarmType alarmType;
+
+    private Integer fromUserId;
+
+    private Integer targetId;
+
+    private Timestamp registeredAt;
+
+    private Timestamp updatedAt;
+
+    private Timestamp deletedAt;
+
+    // 아직 id 가 없는 알람을 SSE 로 바로 보낼 때 사용한다.
+    public static Alarm fromEvent(AlarmEvent event) {
+        return new Alarm(
+                null,
+                event.getAlarmType(),
+                event.getFromUserId(),
+                event.getTargetId(),
+                event.getRegisteredAt(),
+                null,
+                null
+        );
+    }
+
+    public static Alarm fromEntity(AlarmEntity entity) {
+        return new Alarm(
+                entity.getId(),
+                entity.getAlarmType(),
+                entity.getFromUserId(),
+                entity.getTargetId(),
+                entity.getRegisteredAt(),
+                entity.getUpdatedAt(),
+                entity.getDeletedAt()
+        );
+    }
+
+}
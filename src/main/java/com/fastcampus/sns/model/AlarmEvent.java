@@ -0,0 +1,27 @@
+package com.fastcampus.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// 알람 큐에 쌓이는 이벤트. userId 는 알람을 받는 유저이다.
+@Getter
+@AllArgsConstructor
+public class AlarmEvent {
+    private Integer userId;
+
+    private AlarmType alarmType;
+
+    private Integer fromUserId;
+
+    private Integer targetId;
+
+    private Timestamp registeredAt;
+
+    public static AlarmEvent of(Integer userId, AlarmType alarmType, Integer fromUserId, Integer targetId) {
+        return new AlarmEvent(userId, alarmType, fromUserId, targetId, Timestamp.from(Instant.now()));
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.fastcampus.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum AlarmType {
+    NEW_COMMENT_ON_POST("new comment!"),
+    NEW_LIKE_ON_POST("new like!"),
+    NEW_MENTION_ON_POST("new mention!"),
+    ;
+
+    private final String alarmText;
+}
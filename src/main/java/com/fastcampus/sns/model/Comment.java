@@ -0,0 +1,43 @@
+package com.fastcampus.sns.model;
+
+import com.fastcampus.sns.model.entity.CommentEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Getter
+@AllArgsConstructor
+public class Comment {
+    private Integer id;
+
+    private String comment;
+
+    private Integer userId;
+
+    private String userName;
+
+    private Integer postId;
+
+    private Timestamp registeredAt;
+
+    private Timestamp updatedAt;
+
+    private Timestamp deletedAt;
+
+    // 작성자는 페이지 단위로 한번에 조회한 뒤 넘겨 받는다. 탈퇴한 유저라면 userName 은 null 이다.
+    public static Comment fromEntity(CommentEntity entity, UserEntity userEntity) {
+        return new Comment(
+                entity.getId(),
+                entity.getComment(),
+                entity.getUser().getId(),
+                userEntity == null ? null : userEntity.getUserName(),
+                entity.getPost().getId(),
+                entity.getRegisteredAt(),
+                entity.getUpdatedAt(),
+                entity.getDeletedAt()
+        );
+    }
+
+}
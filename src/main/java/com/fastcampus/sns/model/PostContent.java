@@ -0,0 +1,12 @@
+package com.fastcampus.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostContent {
+    private String title;
+
+    private String body;
+}
@@ -0,0 +1,12 @@
+package com.fastcampus.sns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TrendingHashtag {
+    private String tag;
+
+    private long count;
+}
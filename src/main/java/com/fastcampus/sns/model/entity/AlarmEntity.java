@@ -0,0 +1,69 @@
+package com.fastcampus.sns.model.entity;
+
+import com.fastcampus.sns.model.AlarmType;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Entity
+@Table(name = "alarm", indexes = @Index(name = "alarm_user_id_id_idx", columnList = "user_id, id"))
+@Getter
+@Setter
+@SQLDelete(sql = "UPDATE alarm SET deleted_at = NOW() where id = ?")
+@Where(clause = "deleted_at is NULL")
+public class AlarmEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    // 알람을 받은 유저
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private UserEntity user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alarm_type")
+    private AlarmType alarmType;
+
+    @Column(name = "from_user_id")
+    private Integer fromUserId;
+
+    @Column(name = "target_id")
+    private Integer targetId;
+
+    @Column(name = "registered_at")
+    private Timestamp registeredAt;
+
+    @Column(name = "updated_at")
+    private Timestamp updatedAt;
+
+    @Column(name = "deleted_at")
+    private Timestamp deletedAt;
+
+    @PrePersist
+    void registeredAt() {
+        this.registeredAt = Timestamp.from(Instant.now());
+    }
+
+    @PreUpdate
+    void updatedAt() {
+        this.updatedAt = Timestamp.from(Instant.now());
+    }
+
+    public static AlarmEntity of(UserEntity userEntity, AlarmType alarmType, Integer fromUserId, Integer targetId) {
+        final AlarmEntity entity = new AlarmEntity();
+        entity.setUser(userEntity);
+        entity.setAlarmType(alarmType);
+        entity.setFromUserId(fromUserId);
+        entity.setTargetId(targetId);
+
+        return entity;
+    }
+
+}
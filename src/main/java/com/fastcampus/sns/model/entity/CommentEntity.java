@@ -0,0 +1,63 @@
+package com.fastcampus.sns.model.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Entity
+@Table(name = "comment", indexes = @Index(name = "comment_post_id_id_idx", columnList = "post_id, id"))
+@Getter
+@Setter
+@SQLDelete(sql = "UPDATE comment SET deleted_at = NOW() where id = ?")
+@Where(clause = "deleted_at is NULL")
+public class CommentEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private UserEntity user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id")
+    private PostEntity post;
+
+    @Column(name = "comment", columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(name = "registered_at")
+    private Timestamp registeredAt;
+
+    @Column(name = "updated_at")
+    private Timestamp updatedAt;
+
+    @Column(name = "deleted_at")
+    private Timestamp deletedAt;
+
+    @PrePersist
+    void registeredAt() {
+        this.registeredAt = Timestamp.from(Instant.now());
+    }
+
+    @PreUpdate
+    void updatedAt() {
+        this.updatedAt = Timestamp.from(Instant.now());
+    }
+
+    public static CommentEntity of(String comment, PostEntity postEntity, UserEntity userEntity) {
+        final CommentEntity entity = new CommentEntity();
+        entity.setComment(comment);
+        entity.setPost(postEntity);
+        entity.setUser(userEntity);
+
+        return entity;
+    }
+
+}
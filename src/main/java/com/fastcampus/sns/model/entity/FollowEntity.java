@@ -0,0 +1,63 @@
+package com.fastcampus.sns.model.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Entity
+@Table(name = "follow",
+        uniqueConstraints = @UniqueConstraint(name = "follow_follower_id_following_id_uk", columnNames = {"follower_id", "following_id"}),
+        indexes = @Index(name = "follow_following_id_follower_id_idx", columnList = "following_id, follower_id"))
+@Getter
+@Setter
+@SQLDelete(sql = "UPDATE follow SET deleted_at = NOW() where id = ?")
+@Where(clause = "deleted_at is NULL")
+public class FollowEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    // 팔로우 하는 유저
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "follower_id")
+    private UserEntity follower;
+
+    // 팔로우 받는 유저
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "following_id")
+    private UserEntity following;
+
+    @Column(name = "registered_at")
+    private Timestamp registeredAt;
+
+    @Column(name = "updated_at")
+    private Timestamp updatedAt;
+
+    @Column(name = "deleted_at")
+    private Timestamp deletedAt;
+
+    @PrePersist
+    void registeredAt() {
+        this.registeredAt = Timestamp.from(Instant.now());
+    }
+
+    @PreUpdate
+    void updatedAt() {
+        this.updatedAt = Timestamp.from(Instant.now());
+    }
+
+    public static FollowEntity of(UserEntity follower, UserEntity following) {
+        final FollowEntity entity = new FollowEntity();
+        entity.setFollower(follower);
+        entity.setFollowing(following);
+
+        return entity;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.fastcampus.sns.model.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Entity
+@Table(name = "post_like", uniqueConstraints = @UniqueConstraint(name = "post_like_post_id_user_id_uk", columnNames = {"post_id", "user_id"}))
+@Getter
+@Setter
+@SQLDelete(sql = "UPDATE post_like SET deleted_at = NOW() where id = ?")
+@Where(clause = "deleted_at is NULL")
+public class LikeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private UserEntity user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id")
+    private PostEntity post;
+
+    @Column(name = "registered_at")
+    private Timestamp registeredAt;
+
+    @Column(name = "updated_at")
+    private Timestamp updatedAt;
+
+    @Column(name = "deleted_at")
+    private Timestamp deletedAt;
+
+    @PrePersist
+    void registeredAt() {
+        this.registeredAt = Timestamp.from(Instant.now());
+    }
+
+    @PreUpdate
+    void updatedAt() {
+        this.updatedAt = Timestamp.from(Instant.now());
+    }
+
+    public static LikeEntity of(UserEntity userEntity, PostEntity postEntity) {
+        final LikeEntity entity = new LikeEntity();
+        entity.setUser(userEntity);
+        entity.setPost(postEntity);
+
+        return entity;
+    }
+
+}
@@ -17,8 +17,14 @@ import java.time.Instant;
 @Where(clause = "deleted_at is NULL")
 public class PostEntity {
 
+    public static final String ID_SEQUENCE = "post_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY 는 insert 마다 id 를 받아와야 해서 batch insert 가 꺼지므로, sequence 에서 50 개씩 미리 할당받는다.
+    // sequence 값은 할당받은 block 의 마지막 id 이므로 기존 post 가 있으면 PostIdSequenceInitializer 가 시작할 때 옮긴다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_id_generator")
+    @SequenceGenerator(name = "post_id_generator", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Integer id;
 
     @Column(name = "title")
@@ -27,7 +33,7 @@ public class PostEntity {
     @Column(name = "body", columnDefinition = "TEXT")
     private String body;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserEntity user;
 
@@ -0,0 +1,46 @@
+package com.fastcampus.sns.model.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Entity
+@Table(name = "post_hashtag", indexes = {
+        @Index(name = "post_hashtag_tag_post_id_idx", columnList = "tag, post_id"),
+        @Index(name = "post_hashtag_post_id_idx", columnList = "post_id")
+})
+@Getter
+@Setter
+public class PostHashtagEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id")
+    private PostEntity post;
+
+    @Column(name = "tag", length = 100)
+    private String tag;
+
+    @Column(name = "registered_at")
+    private Timestamp registeredAt;
+
+    @PrePersist
+    void registeredAt() {
+        this.registeredAt = Timestamp.from(Instant.now());
+    }
+
+    public static PostHashtagEntity of(PostEntity postEntity, String tag) {
+        final PostHashtagEntity entity = new PostHashtagEntity();
+        entity.setPost(postEntity);
+        entity.setTag(tag);
+
+        return entity;
+    }
+
+}
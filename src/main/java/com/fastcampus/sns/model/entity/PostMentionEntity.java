@@ -0,0 +1,48 @@
+package com.fastcampus.sns.model.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Entity
+@Table(name = "post_mention", indexes = {
+        @Index(name = "post_mention_user_id_post_id_idx", columnList = "user_id, post_id"),
+        @Index(name = "post_mention_post_id_idx", columnList = "post_id")
+})
+@Getter
+@Setter
+public class PostMentionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id")
+    private PostEntity post;
+
+    // 멘션된 유저
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private UserEntity user;
+
+    @Column(name = "registered_at")
+    private Timestamp registeredAt;
+
+    @PrePersist
+    void registeredAt() {
+        this.registeredAt = Timestamp.from(Instant.now());
+    }
+
+    public static PostMentionEntity of(PostEntity postEntity, UserEntity userEntity) {
+        final PostMentionEntity entity = new PostMentionEntity();
+        entity.setPost(postEntity);
+        entity.setUser(userEntity);
+
+        return entity;
+    }
+
+}
@@ -16,6 +16,7 @@ import java.time.Instant;
 @Setter
 @SQLDelete(sql = "UPDATE \"user\" SET deleted_at = NOW() where id = ?")
 @Where(clause = "deleted_at is NULL")
+@EntityListeners(UserEntityListener.class)
 public class UserEntity {
 
     @Id
@@ -32,6 +33,14 @@ public class UserEntity {
     @Enumerated(EnumType.STRING)
     private UserRole role = UserRole.USER;
 
+    // 증가시키면 이전에 발급된 self-contained 토큰이 모두 무효화된다.
+    @Column(name = "token_version")
+    private Integer tokenVersion = 0;
+
+    // follow/unfollow 시 update 쿼리로 증감한다. fan-out 방식을 정할 때 사용한다.
+    @Column(name = "follower_count")
+    private Integer followerCount = 0;
+
     @Column(name = "registered_at")
     private Timestamp registeredAt;
 
@@ -0,0 +1,43 @@
+package com.fastcampus.sns.model.entity;
+
+import com.fastcampus.sns.repository.TokenVersionRepository;
+import com.fastcampus.sns.repository.UserCacheRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final ObjectProvider<UserCacheRepository> userCacheRepository;
+    private final ObjectProvider<TokenVersionRepository> tokenVersionRepository;
+
+    // @SQLDelete 로 soft delete 되는 경우에도 @PostRemove 가 호출된다.
+    @PostUpdate
+    @PostRemove
+    public void evict(UserEntity entity) {
+        final String userName = entity.getUserName();
+        final Integer userId = entity.getId();
+        evict(userName, userId);
+
+        // commit 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로 트랜잭션 종료 후 한번 더 제거한다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userName, userId);
+                }
+            });
+        }
+    }
+
+    private void evict(String userName, Integer userId) {
+        userCacheRepository.ifAvailable(it -> it.evict(userName));
+        tokenVersionRepository.ifAvailable(it -> it.evict(userId));
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.AlarmEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 알람은 JPA 로 한 건씩 저장하지 않고 JDBC batch insert 로 한번에 적재한다.
+@Repository
+@RequiredArgsConstructor
+public class AlarmBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO alarm (user_id, alarm_type, from_user_id, target_id, registered_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void saveAll(List<AlarmEvent> events) {
+        final List<Object[]> args = new ArrayList<>(events.size());
+        for (AlarmEvent event : events) {
+            args.add(new Object[]{event.getUserId(), event.getAlarmType().name(), event.getFromUserId(), event.getTargetId(), event.getRegisteredAt()});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.entity.CommentEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CommentEntityRepository extends JpaRepository<CommentEntity, Integer> {
+
+    // (post_id, id) index 를 타고 마지막으로 조회한 id 다음부터 읽는다. 작성자는 join 하지 않는다.
+    Slice<CommentEntity> findAllByPostIdOrderByIdAsc(Integer postId, Pageable pageable);
+
+    Slice<CommentEntity> findAllByPostIdAndIdGreaterThanOrderByIdAsc(Integer postId, Integer id, Pageable pageable);
+
+}
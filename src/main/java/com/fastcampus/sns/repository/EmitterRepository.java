@@ -0,0 +1,42 @@
+package com.fastcampus.sns.repository;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+// 유저별로 연결된 SSE emitter 를 보관한다. 한 유저가 여러 탭에서 구독할 수 있으므로 emitter 는 여러 개일 수 있다.
+@Repository
+public class EmitterRepository {
+
+    private final Map<Integer, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseEmitter save(Integer userId, SseEmitter emitter) {
+        emitters.computeIfAbsent(userId, it -> ConcurrentHashMap.newKeySet()).add(emitter);
+        return emitter;
+    }
+
+    public void delete(Integer userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    public Collection<SseEmitter> get(Integer userId) {
+        return emitters.getOrDefault(userId, Set.of());
+    }
+
+    public void forEach(BiConsumer<Integer, SseEmitter> action) {
+        emitters.forEach((userId, set) -> set.forEach(emitter -> action.accept(userId, emitter)));
+    }
+
+    public int count() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.entity.FollowEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FollowEntityRepository extends JpaRepository<FollowEntity, Integer> {
+
+    boolean existsByFollowerIdAndFollowingId(Integer followerId, Integer followingId);
+
+    Optional<FollowEntity> findByFollowerIdAndFollowingId(Integer followerId, Integer followingId);
+
+    // unique 제약이 soft delete 된 row 에도 걸리므로 다시 팔로우 할 때는 그 row 를 되살린다.
+    @Modifying
+    @Query(value = "UPDATE follow SET deleted_at = NULL, registered_at = NOW(), updated_at = NOW() WHERE follower_id = :followerId AND following_id = :followingId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int restore(@Param("followerId") Integer followerId, @Param("followingId") Integer followingId);
+
+    @Query("SELECT f.follower.id FROM FollowEntity f WHERE f.following.id = :userId")
+    List<Integer> findFollowerIds(@Param("userId") Integer userId);
+
+    // 팔로워가 maxFollowers 보다 많아 fan-out-on-read 로 읽어야 하는 팔로잉
+    @Query("SELECT f.following.id FROM FollowEntity f WHERE f.follower.id = :userId AND f.following.followerCount > :maxFollowers")
+    List<Integer> findCelebrityFollowingIds(@Param("userId") Integer userId, @Param("maxFollowers") int maxFollowers);
+
+}
@@ -0,0 +1,113 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.TrendingHashtag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 최근 window 동안의 hashtag 사용 수를 bucket-ms 단위 bucket 의 ring 으로 센다.
+// 기록은 lock 없이 bucket 의 LongAdder 에 더하고, 상위 top-k 는 refresh 에서 미리 계산해 둔다.
+@Repository
+public class HashtagTrendingRepository {
+
+    private static final Comparator<TrendingHashtag> ORDER = Comparator.comparingLong(TrendingHashtag::getCount)
+            .thenComparing(TrendingHashtag::getTag, Comparator.reverseOrder());
+
+    private final long bucketMs;
+    private final int topK;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    private volatile List<TrendingHashtag> trending = List.of();
+
+    public HashtagTrendingRepository(@Value("${hashtag.trending.window-ms}") long windowMs,
+                                     @Value("${hashtag.trending.bucket-ms}") long bucketMs,
+                                     @Value("${hashtag.trending.top-k}") int topK) {
+        this.bucketMs = bucketMs;
+        this.topK = topK;
+        this.buckets = new AtomicReferenceArray<>((int) Math.max(1, (windowMs + bucketMs - 1) / bucketMs));
+    }
+
+    public void increment(Collection<String> tags) {
+        increment(tags, System.currentTimeMillis());
+    }
+
+    public void increment(Collection<String> tags, long now) {
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        final Bucket bucket = getBucket(now / bucketMs);
+        tags.forEach(tag -> bucket.counts.computeIfAbsent(tag, it -> new LongAdder()).increment());
+    }
+
+    // 미리 계산한 목록을 자르기만 하므로 O(k) 이다.
+    public List<TrendingHashtag> getTrending(int size) {
+        final List<TrendingHashtag> snapshot = trending;
+
+        return snapshot.subList(0, Math.max(0, Math.min(size, snapshot.size())));
+    }
+
+    public void refresh() {
+        refresh(System.currentTimeMillis());
+    }
+
+    public void refresh(long now) {
+        final long slot = now / bucketMs;
+        final Map<String, Long> counts = new HashMap<>();
+        for (int i = 0; i < buckets.length(); i++) {
+            final Bucket bucket = buckets.get(i);
+            if (bucket != null && slot - bucket.slot < buckets.length()) {
+                bucket.counts.forEach((tag, count) -> counts.merge(tag, count.sum(), Long::sum));
+            }
+        }
+
+        final PriorityQueue<TrendingHashtag> heap = new PriorityQueue<>(topK + 1, ORDER);
+        counts.forEach((tag, count) -> {
+            heap.offer(new TrendingHashtag(tag, count));
+            if (heap.size() > topK) {
+                heap.poll();
+            }
+        });
+
+        final List<TrendingHashtag> result = new ArrayList<>(heap);
+        result.sort(ORDER.reversed());
+        trending = List.copyOf(result);
+    }
+
+    // 다른 slot 의 bucket 이 남아 있으면 새 bucket 으로 교체한다.
+    // 교체 직전의 bucket 을 잡은 기록은 유실될 수 있지만 trending 에는 영향이 거의 없다.
+    private Bucket getBucket(long slot) {
+        final int index = (int) (slot % buckets.length());
+        while (true) {
+            final Bucket current = buckets.get(index);
+            if (current != null && current.slot >= slot) {
+                return current;
+            }
+
+            final Bucket bucket = new Bucket(slot);
+            if (buckets.compareAndSet(index, current, bucket)) {
+                return bucket;
+            }
+        }
+    }
+
+    private static class Bucket {
+        private final long slot;
+        private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+        Bucket(long slot) {
+            this.slot = slot;
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.fastcampus.sns.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// 좋아요는 메모리에 먼저 반영하고, DB 에는 flush 시 batch insert 한다.
+@Slf4j
+@Repository
+public class LikeCacheRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO post_like (user_id, post_id, registered_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Integer, LikeCount> counts;
+    private final Queue<PendingLike> pendingLikes = new ConcurrentLinkedQueue<>();
+    private final Set<Long> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    // DB count 를 읽어 캐시에 올리는 동안 flush 가 끼어들면 count 가 어긋나므로 둘을 직렬화한다.
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    public LikeCacheRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, @Value("${like.cache.maximum-size}") long maximumSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public long getCount(Integer postId, Function<Integer, PostLikes> loader) {
+        return getLikeCount(postId, loader).sum();
+    }
+
+    public Integer getPostUserId(Integer postId, Function<Integer, PostLikes> loader) {
+        return getLikeCount(postId, loader).postUserId;
+    }
+
+    public boolean isPending(Integer postId, Integer userId) {
+        return pendingKeys.contains(key(postId, userId));
+    }
+
+    // 이미 flush 대기 중인 좋아요라면 false 를 반환한다.
+    public boolean add(Integer postId, Integer userId, Function<Integer, PostLikes> loader) {
+        final LikeCount likeCount = getLikeCount(postId, loader);
+
+        if (!pendingKeys.add(key(postId, userId))) {
+            return false;
+        }
+
+        likeCount.pending.increment();
+        pendingLikes.add(new PendingLike(postId, userId, Timestamp.from(Instant.now()), likeCount));
+
+        return true;
+    }
+
+    public int pendingSize() {
+        return pendingKeys.size();
+    }
+
+    public int flush(int batchSize) {
+        final List<PendingLike> batch = new ArrayList<>(Math.min(batchSize, pendingLikes.size()));
+        for (PendingLike pendingLike; batch.size() < batchSize && (pendingLike = pendingLikes.poll()) != null; ) {
+            batch.add(pendingLike);
+        }
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        flushLock.writeLock().lock();
+        try {
+            for (PendingLike pendingLike : insert(batch)) {
+                // 적재된 좋아요는 pending 에서 persisted 로 옮긴다. 그 사이 캐시가 교체되었다면 새 항목에 반영한다.
+                pendingLike.likeCount.pending.decrement();
+                final LikeCount current = counts.getIfPresent(pendingLike.postId);
+                if (current != null) {
+                    current.persisted.incrementAndGet();
+                }
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+            batch.forEach(it -> pendingKeys.remove(key(it.postId, it.userId)));
+        }
+
+        return batch.size();
+    }
+
+    private List<PendingLike> insert(List<PendingLike> batch) {
+        // batch 는 한 트랜잭션으로 보내 실패하면 일부만 적재된 채로 남지 않게 한다.
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, toArgs(batch)));
+            return batch;
+        } catch (DuplicateKeyException e) {
+            log.info("Duplicated like found while flushing {} likes. retry one by one.", batch.size());
+        } catch (DataAccessException e) {
+            log.error("Error occurs while flushing {} likes. retry one by one. {}", batch.size(), e.toString());
+        }
+
+        // 이미 적재된 좋아요나 삭제된 post 등으로 일부가 실패하더라도 나머지는 적재한다.
+        final List<PendingLike> inserted = new ArrayList<>(batch.size());
+        for (PendingLike pendingLike : batch) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, pendingLike.userId, pendingLike.postId, pendingLike.registeredAt);
+                inserted.add(pendingLike);
+            } catch (DuplicateKeyException e) {
+                // 다른 요청이나 서버가 먼저 적재한 좋아요는 한 번만 센다.
+                log.debug("Like of post {} by user {} already exists", pendingLike.postId, pendingLike.userId);
+                pendingLike.likeCount.pending.decrement();
+            } catch (DataAccessException e) {
+                log.error("Error occurs while flushing like of post {} by user {}. {}", pendingLike.postId, pendingLike.userId, e.toString());
+                pendingLike.likeCount.pending.decrement();
+            }
+        }
+
+        return inserted;
+    }
+
+    private LikeCount getLikeCount(Integer postId, Function<Integer, PostLikes> loader) {
+        return counts.get(postId, id -> {
+            flushLock.readLock().lock();
+            try {
+                final PostLikes postLikes = loader.apply(id);
+                return new LikeCount(postLikes.postUserId, new AtomicLong(postLikes.count), new LongAdder());
+            } finally {
+                flushLock.readLock().unlock();
+            }
+        });
+    }
+
+    private static List<Object[]> toArgs(List<PendingLike> batch) {
+        final List<Object[]> args = new ArrayList<>(batch.size());
+        for (PendingLike pendingLike : batch) {
+            args.add(new Object[]{pendingLike.userId, pendingLike.postId, pendingLike.registeredAt});
+        }
+
+        return args;
+    }
+
+    private static long key(Integer postId, Integer userId) {
+        return ((long) postId << 32) | (userId & 0xFFFFFFFFL);
+    }
+
+    // 캐시에 올릴 때 읽어 오는 post 작성자와 DB 에 적재된 좋아요 수
+    @Getter
+    @AllArgsConstructor
+    public static class PostLikes {
+        private final Integer postUserId;
+        private final long count;
+    }
+
+    @AllArgsConstructor
+    private static class LikeCount {
+        private final Integer postUserId;
+        private final AtomicLong persisted;
+        private final LongAdder pending;
+
+        long sum() {
+            return persisted.get() + pending.sum();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class PendingLike {
+        private final Integer postId;
+        private final Integer userId;
+        private final Timestamp registeredAt;
+        private final LikeCount likeCount;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.entity.LikeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface LikeEntityRepository extends JpaRepository<LikeEntity, Integer> {
+
+    // 좋아요 중복 확인과 캐시에 올릴 개수는 방금 flush 한 row 가 보이도록 primary 에서 읽는다.
+    @Transactional
+    boolean existsByUserIdAndPostId(Integer userId, Integer postId);
+
+    @Transactional
+    long countByPostId(Integer postId);
+
+}
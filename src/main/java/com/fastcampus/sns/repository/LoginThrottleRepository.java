@@ -0,0 +1,29 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.util.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+// 로그인 시도를 userName 과 client ip 별로 제한한다. password hash 를 계산하기 전에 확인한다.
+@Repository
+public class LoginThrottleRepository {
+
+    private final RateLimiter<String> userLimiter;
+    private final RateLimiter<String> ipLimiter;
+
+    public LoginThrottleRepository(@Value("${login.throttle.maximum-size}") long maximumSize,
+                                   @Value("${login.throttle.user.permits-per-minute}") long userPermitsPerMinute,
+                                   @Value("${login.throttle.user.burst}") long userBurst,
+                                   @Value("${login.throttle.ip.permits-per-minute}") long ipPermitsPerMinute,
+                                   @Value("${login.throttle.ip.burst}") long ipBurst) {
+        this.userLimiter = new RateLimiter<>(userPermitsPerMinute, Duration.ofMinutes(1), userBurst, maximumSize);
+        this.ipLimiter = new RateLimiter<>(ipPermitsPerMinute, Duration.ofMinutes(1), ipBurst, maximumSize);
+    }
+
+    public boolean tryAcquire(String userName, String clientIp) {
+        return ipLimiter.tryAcquire(clientIp) && userLimiter.tryAcquire(userName);
+    }
+
+}
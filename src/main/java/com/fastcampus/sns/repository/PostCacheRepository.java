@@ -0,0 +1,76 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.Post;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Repository
+public class PostCacheRepository {
+
+    private final Cache<Integer, Post> cache;
+
+    // 캐시된 post 는 작성자 정보를 함께 담고 있으므로, 작성자가 바뀌어도 expired-time-ms 가 지나면 다시 읽는다.
+    public PostCacheRepository(@Value("${post.cache.maximum-size}") long maximumSize,
+                               @Value("${post.cache.expired-time-ms}") long expiredTimeMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expiredTimeMs))
+                .recordStats()
+                .build();
+    }
+
+    // loader 가 null 을 반환하면 캐시하지 않는다.
+    public Optional<Post> getPost(Integer postId, Function<Integer, Post> loader) {
+        return Optional.ofNullable(cache.get(postId, loader));
+    }
+
+    // 캐시에 없는 id 만 loader 로 한번에 조회하고 ids 순서대로 반환한다. 조회되지 않은 post 는 제외한다.
+    public List<Post> getPosts(List<Integer> ids, Function<Collection<Integer>, List<Post>> loader) {
+        final Map<Integer, Post> posts = cache.getAll(ids, missing -> {
+            final List<Integer> missingIds = new ArrayList<>();
+            missing.forEach(missingIds::add);
+
+            return loader.apply(missingIds).stream().collect(Collectors.toMap(Post::getId, Function.identity()));
+        });
+
+        return ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    public void evict(Integer postId) {
+        cache.invalidate(postId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    // maximum-size 를 정할 수 있도록 hit rate 와 eviction 수를 주기적으로 남긴다.
+    @Scheduled(fixedDelayString = "${post.cache.stats-log-interval-ms}")
+    public void logStats() {
+        log.info("Post cache size={} {}", estimatedSize(), stats());
+    }
+
+}
@@ -1,15 +1,79 @@
 package com.fastcampus.sns.repository;
 
 import com.fastcampus.sns.model.entity.PostEntity;
-import com.fastcampus.sns.model.entity.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostEntityRepository extends JpaRepository<PostEntity, Integer> {
 
-    Page<PostEntity> findAllByUser(UserEntity entity, Pageable pageable);
+    // 작성자를 post 마다 따로 조회하지 않도록 join 해서 가져온다.
+    // 캐시에 올리는 값이므로 readOnly 가 아닌 트랜잭션으로 primary 에서 읽는다. replica 에서 읽으면 수정 직후 이전 값이 만료 없이 캐시된다.
+    @Override
+    @Transactional
+    @EntityGraph(attributePaths = "user")
+    Optional<PostEntity> findById(Integer id);
+
+    @Transactional
+    @EntityGraph(attributePaths = "user")
+    List<PostEntity> findAllByIdIn(Collection<Integer> ids);
+
+    // 목록은 id 만 조회하고 post 는 캐시에서 채운다.
+    // 직접 선언한 query method 는 Spring Data 의 readOnly 기본값을 받지 않으므로, replica 에서 읽도록 readOnly 를 직접 붙인다.
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT p.id FROM PostEntity p", countQuery = "SELECT COUNT(p) FROM PostEntity p")
+    Page<Integer> findAllIds(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT p.id FROM PostEntity p WHERE p.user.id = :userId", countQuery = "SELECT COUNT(p) FROM PostEntity p WHERE p.user.id = :userId")
+    Page<Integer> findAllIdsByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT p.id FROM PostEntity p ORDER BY p.id DESC")
+    Slice<Integer> findAllIdsOrderByIdDesc(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT p.id FROM PostEntity p WHERE p.id < :id ORDER BY p.id DESC")
+    Slice<Integer> findAllIdsByIdLessThanOrderByIdDesc(@Param("id") Integer id, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT p.id FROM PostEntity p WHERE p.user.id = :userId ORDER BY p.id DESC")
+    List<Integer> findIdsByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    // 본인과 fan-out-on-write 대상 팔로잉의 최근 post id. 타임라인 캐시가 비어 있을 때만 사용한다.
+    @Transactional(readOnly = true)
+    @Query("SELECT p.id FROM PostEntity p WHERE p.user.id = :userId OR p.user.id IN " +
+            "(SELECT f.following.id FROM FollowEntity f WHERE f.follower.id = :userId AND COALESCE(f.following.followerCount, 0) <= :maxFollowers) " +
+            "ORDER BY p.id DESC")
+    List<Integer> findTimelineIds(@Param("userId") Integer userId, @Param("maxFollowers") int maxFollowers, Pageable pageable);
+
+    // stream 응답을 chunk 단위로 읽는다. 호출마다 트랜잭션이 끝나 connection 을 반납하므로 client 에 쓰는 동안 connection 을 잡지 않는다.
+    @Transactional(readOnly = true)
+    @Query("SELECT p FROM PostEntity p JOIN FETCH p.user WHERE p.id < :id ORDER BY p.id DESC")
+    List<PostEntity> findAllWithUserByIdLessThan(@Param("id") Integer id, Pageable pageable);
+
+    // 검색 색인을 채울 때 PK 순으로 나눠 읽는다.
+    List<PostEntity> findAllByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    List<PostEntity> findAllByRegisteredAtGreaterThanEqualOrUpdatedAtGreaterThanEqual(Timestamp registeredAt, Timestamp updatedAt);
+
+    // soft delete 된 row 는 @Where 로 걸러지므로 native query 로 조회한다.
+    @Query(value = "SELECT id FROM post WHERE deleted_at >= :since", nativeQuery = true)
+    List<Integer> findDeletedIdsSince(@Param("since") Timestamp since);
+
+    @Query(value = "SELECT MAX(id) FROM post", nativeQuery = true)
+    Integer findMaxIdIncludingDeleted();
 
 }
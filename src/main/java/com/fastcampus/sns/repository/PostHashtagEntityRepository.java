@@ -0,0 +1,27 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.entity.PostHashtagEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostHashtagEntityRepository extends JpaRepository<PostHashtagEntity, Integer> {
+
+    @Query("SELECT h.tag FROM PostHashtagEntity h WHERE h.post.id = :postId")
+    List<String> findTagsByPostId(@Param("postId") Integer postId);
+
+    @Modifying
+    @Query("DELETE FROM PostHashtagEntity h WHERE h.post.id = :postId AND h.tag IN :tags")
+    int deleteAllByPostIdAndTagIn(@Param("postId") Integer postId, @Param("tags") Collection<String> tags);
+
+    @Modifying
+    @Query("DELETE FROM PostHashtagEntity h WHERE h.post.id = :postId")
+    int deleteAllByPostId(@Param("postId") Integer postId);
+
+}
@@ -0,0 +1,442 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.util.TokenizerUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// post 의 title, body 에 대한 역색인.
+// post 는 색인될 때마다 새 문서 번호를 받고, 이전 문서는 삭제 표시만 한다. 문서 번호가 늘어나는 순서로만 쌓이므로
+// posting 은 (문서 번호 차이, 빈도) 를 varint 로 이어 붙인 byte 배열로 보관한다.
+@Repository
+public class PostIndexRepository {
+
+    private static final int SNAPSHOT_MAGIC = 0x504F5358;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    // BM25 parameter
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 삭제 표시된 문서가 이 비율을 넘으면 문서 번호를 다시 매기고 posting 을 새로 쓴다.
+    private static final double COMPACT_RATIO = 0.2;
+    private static final int COMPACT_MIN_DOCS = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<Integer, Integer> docByPostId = new HashMap<>();
+    private int[] docPostIds = new int[COMPACT_MIN_DOCS];
+    private int[] docLengths = new int[COMPACT_MIN_DOCS];
+    private BitSet deleted = new BitSet();
+    private int docCount;
+    private int liveCount;
+    private long totalLength;
+    private int maxPostId;
+    private long modCount;
+
+    public void index(int postId, String title, String body) {
+        final Map<String, Integer> frequencies = new HashMap<>();
+        final List<String> tokens = new ArrayList<>(TokenizerUtils.tokenize(title));
+        tokens.addAll(TokenizerUtils.tokenize(body));
+        tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeDoc(postId);
+
+            final int doc = docCount++;
+            if (doc == docPostIds.length) {
+                docPostIds = Arrays.copyOf(docPostIds, doc * 2);
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+            }
+            docPostIds[doc] = postId;
+            docLengths[doc] = tokens.size();
+            docByPostId.put(postId, doc);
+            liveCount++;
+            totalLength += tokens.size();
+            maxPostId = Math.max(maxPostId, postId);
+
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, it -> new PostingList()).add(doc, frequency));
+
+            modCount++;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int postId) {
+        lock.writeLock().lock();
+        try {
+            if (removeDoc(postId)) {
+                modCount++;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings = new HashMap<>();
+            docByPostId = new HashMap<>();
+            docPostIds = new int[COMPACT_MIN_DOCS];
+            docLengths = new int[COMPACT_MIN_DOCS];
+            deleted = new BitSet();
+            docCount = 0;
+            liveCount = 0;
+            totalLength = 0;
+            maxPostId = 0;
+            modCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // BM25 점수 순으로 offset 부터 limit 개의 post id 를 반환한다.
+    public SearchResult search(String query, int offset, int limit) {
+        final LinkedHashSet<String> terms = new LinkedHashSet<>(TokenizerUtils.tokenize(query));
+
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || liveCount == 0) {
+                return new SearchResult(List.of(), 0);
+            }
+
+            final double averageLength = Math.max(1.0, (double) totalLength / liveCount);
+            final Map<Integer, Double> scores = new HashMap<>();
+
+            for (String term : terms) {
+                final PostingList postingList = postings.get(term);
+                if (postingList == null) {
+                    continue;
+                }
+
+                // 삭제 표시된 문서도 df 에 포함되지만 compaction 주기 안에서는 차이가 크지 않다.
+                final int df = Math.min(postingList.docCount, liveCount);
+                final double idf = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+
+                postingList.forEach((doc, frequency) -> {
+                    if (deleted.get(doc)) {
+                        return;
+                    }
+                    final double norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                    scores.merge(doc, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+
+            return new SearchResult(top(scores, offset, limit), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMaxPostId() {
+        lock.readLock().lock();
+        try {
+            return maxPostId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getModCount() {
+        lock.readLock().lock();
+        try {
+            return modCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 임시 파일에 쓴 뒤 교체하므로 쓰는 도중 종료되어도 이전 snapshot 은 남는다. 쓰는 동안 검색은 가능하고 색인은 기다린다.
+    public void writeSnapshot(Path path, long takenAt) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(takenAt);
+            out.writeInt(maxPostId);
+            out.writeInt(docCount);
+            out.writeInt(liveCount);
+            out.writeLong(totalLength);
+            for (int doc = 0; doc < docCount; doc++) {
+                out.writeInt(docPostIds[doc]);
+                out.writeInt(docLengths[doc]);
+            }
+
+            final long[] deletedWords = deleted.toLongArray();
+            out.writeInt(deletedWords.length);
+            for (long word : deletedWords) {
+                out.writeLong(word);
+            }
+
+            out.writeInt(postings.size());
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                final PostingList postingList = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(postingList.docCount);
+                out.writeInt(postingList.lastDoc);
+                out.writeInt(postingList.length);
+                out.write(postingList.data, 0, postingList.length);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // snapshot 으로 색인을 교체하고 snapshot 을 만든 시각을 반환한다.
+    public long readSnapshot(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException(String.format("%s is not a post index snapshot", path));
+            }
+
+            final long takenAt = in.readLong();
+            final int snapshotMaxPostId = in.readInt();
+            final int snapshotDocCount = in.readInt();
+            final int snapshotLiveCount = in.readInt();
+            final long snapshotTotalLength = in.readLong();
+
+            final int capacity = Math.max(COMPACT_MIN_DOCS, snapshotDocCount);
+            final int[] snapshotDocPostIds = new int[capacity];
+            final int[] snapshotDocLengths = new int[capacity];
+            for (int doc = 0; doc < snapshotDocCount; doc++) {
+                snapshotDocPostIds[doc] = in.readInt();
+                snapshotDocLengths[doc] = in.readInt();
+            }
+
+            final long[] deletedWords = new long[in.readInt()];
+            for (int i = 0; i < deletedWords.length; i++) {
+                deletedWords[i] = in.readLong();
+            }
+            final BitSet snapshotDeleted = BitSet.valueOf(deletedWords);
+
+            final int termCount = in.readInt();
+            final Map<String, PostingList> snapshotPostings = new HashMap<>(termCount * 4 / 3 + 1);
+            for (int i = 0; i < termCount; i++) {
+                final String term = in.readUTF();
+                final PostingList postingList = new PostingList();
+                postingList.docCount = in.readInt();
+                postingList.lastDoc = in.readInt();
+                postingList.length = in.readInt();
+                postingList.data = new byte[Math.max(8, postingList.length)];
+                in.readFully(postingList.data, 0, postingList.length);
+                snapshotPostings.put(term, postingList);
+            }
+
+            final Map<Integer, Integer> snapshotDocByPostId = new HashMap<>(snapshotLiveCount * 4 / 3 + 1);
+            for (int doc = 0; doc < snapshotDocCount; doc++) {
+                if (!snapshotDeleted.get(doc)) {
+                    snapshotDocByPostId.put(snapshotDocPostIds[doc], doc);
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                postings = snapshotPostings;
+                docByPostId = snapshotDocByPostId;
+                docPostIds = snapshotDocPostIds;
+                docLengths = snapshotDocLengths;
+                deleted = snapshotDeleted;
+                docCount = snapshotDocCount;
+                liveCount = snapshotLiveCount;
+                totalLength = snapshotTotalLength;
+                maxPostId = snapshotMaxPostId;
+                modCount++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            return takenAt;
+        }
+    }
+
+    private boolean removeDoc(int postId) {
+        final Integer doc = docByPostId.remove(postId);
+        if (doc == null) {
+            return false;
+        }
+
+        deleted.set(doc);
+        liveCount--;
+        totalLength -= docLengths[doc];
+
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        if (docCount < COMPACT_MIN_DOCS || docCount - liveCount < docCount * COMPACT_RATIO) {
+            return;
+        }
+
+        final int[] remap = new int[docCount];
+        final int[] compactedPostIds = new int[Math.max(COMPACT_MIN_DOCS, liveCount * 2)];
+        final int[] compactedLengths = new int[compactedPostIds.length];
+        final Map<Integer, Integer> compactedDocByPostId = new HashMap<>(liveCount * 4 / 3 + 1);
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            compactedPostIds[next] = docPostIds[doc];
+            compactedLengths[next] = docLengths[doc];
+            compactedDocByPostId.put(docPostIds[doc], next);
+            next++;
+        }
+
+        final Map<String, PostingList> compactedPostings = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((term, postingList) -> {
+            final PostingList compacted = new PostingList();
+            postingList.forEach((doc, frequency) -> {
+                if (remap[doc] >= 0) {
+                    compacted.add(remap[doc], frequency);
+                }
+            });
+            if (compacted.docCount > 0) {
+                compactedPostings.put(term, compacted);
+            }
+        });
+
+        postings = compactedPostings;
+        docByPostId = compactedDocByPostId;
+        docPostIds = compactedPostIds;
+        docLengths = compactedLengths;
+        deleted = new BitSet();
+        docCount = next;
+    }
+
+    private List<Integer> top(Map<Integer, Double> scores, int offset, int limit) {
+        final int k = offset + limit;
+        if (k <= 0 || offset >= scores.size()) {
+            return List.of();
+        }
+
+        // 점수가 같으면 최신 post 를 앞에 둔다.
+        final Comparator<Map.Entry<Integer, Double>> order = Map.Entry.<Integer, Double>comparingByValue()
+                .thenComparing(it -> docPostIds[it.getKey()]);
+        final PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(k + 1, order);
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        final List<Map.Entry<Integer, Double>> sorted = new ArrayList<>(heap);
+        sorted.sort(order.reversed());
+
+        final List<Integer> result = new ArrayList<>(limit);
+        for (int i = offset; i < sorted.size(); i++) {
+            result.add(docPostIds[sorted.get(i).getKey()]);
+        }
+
+        return result;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<Integer> postIds;
+        private final int totalHits;
+    }
+
+    private interface PostingConsumer {
+        void accept(int doc, int frequency);
+    }
+
+    private static class PostingList {
+        private byte[] data = new byte[8];
+        private int length;
+        private int docCount;
+        private int lastDoc = -1;
+
+        void add(int doc, int frequency) {
+            writeVarInt(doc - lastDoc);
+            writeVarInt(frequency);
+            lastDoc = doc;
+            docCount++;
+        }
+
+        void forEach(PostingConsumer consumer) {
+            int position = 0;
+            int doc = -1;
+            while (position < length) {
+                int delta = 0;
+                for (int shift = 0; ; shift += 7) {
+                    final byte b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    if (b >= 0) {
+                        break;
+                    }
+                }
+
+                int frequency = 0;
+                for (int shift = 0; ; shift += 7) {
+                    final byte b = data[position++];
+                    frequency |= (b & 0x7F) << shift;
+                    if (b >= 0) {
+                        break;
+                    }
+                }
+
+                doc += delta;
+                consumer.accept(doc, frequency);
+            }
+        }
+
+        private void writeVarInt(int value) {
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+            }
+
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.entity.PostMentionEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostMentionEntityRepository extends JpaRepository<PostMentionEntity, Integer> {
+
+    @Query("SELECT m.user FROM PostMentionEntity m WHERE m.post.id = :postId")
+    List<UserEntity> findUsersByPostId(@Param("postId") Integer postId);
+
+    @Modifying
+    @Query("DELETE FROM PostMentionEntity m WHERE m.post.id = :postId AND m.user.id IN :userIds")
+    int deleteAllByPostIdAndUserIdIn(@Param("postId") Integer postId, @Param("userIds") Collection<Integer> userIds);
+
+    @Modifying
+    @Query("DELETE FROM PostMentionEntity m WHERE m.post.id = :postId")
+    int deleteAllByPostId(@Param("postId") Integer postId);
+
+}
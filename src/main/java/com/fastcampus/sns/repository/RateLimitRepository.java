@@ -0,0 +1,37 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.util.RateLimiter;
+import com.fastcampus.sns.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+// /api/** 요청을 로그인한 유저는 user id 별로, 로그인하지 않은 요청은 client ip 별로 제한하고, 전체 요청 수도 제한한다.
+@Repository
+public class RateLimitRepository {
+
+    private final RateLimiter<Integer> userLimiter;
+    private final RateLimiter<String> ipLimiter;
+    private final TokenBucket globalBucket;
+
+    public RateLimitRepository(@Value("${rate-limit.maximum-size}") long maximumSize,
+                               @Value("${rate-limit.user.permits-per-second}") long userPermitsPerSecond,
+                               @Value("${rate-limit.user.burst}") long userBurst,
+                               @Value("${rate-limit.ip.permits-per-second}") long ipPermitsPerSecond,
+                               @Value("${rate-limit.ip.burst}") long ipBurst,
+                               @Value("${rate-limit.global.permits-per-second}") long globalPermitsPerSecond,
+                               @Value("${rate-limit.global.burst}") long globalBurst) {
+        this.userLimiter = new RateLimiter<>(userPermitsPerSecond, Duration.ofSeconds(1), userBurst, maximumSize);
+        this.ipLimiter = new RateLimiter<>(ipPermitsPerSecond, Duration.ofSeconds(1), ipBurst, maximumSize);
+        this.globalBucket = new TokenBucket(globalPermitsPerSecond, Duration.ofSeconds(1), globalBurst);
+    }
+
+    // 한 client 가 몰아서 보낸 요청이 전체 한도를 소진하지 않도록 client 한도를 먼저 확인한다.
+    public boolean tryAcquire(Integer userId, String clientIp) {
+        final boolean acquired = userId != null ? userLimiter.tryAcquire(userId) : ipLimiter.tryAcquire(clientIp);
+
+        return acquired && globalBucket.tryAcquire();
+    }
+
+}
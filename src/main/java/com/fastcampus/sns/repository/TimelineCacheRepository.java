@@ -0,0 +1,145 @@
+package com.fastcampus.sns.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+// 유저별 홈 타임라인과 팔로워가 많은 작성자의 최근 post id 를 int ring buffer 로 보관한다.
+@Repository
+public class TimelineCacheRepository {
+
+    private final int capacity;
+    private final Cache<Integer, Timeline> timelines;
+    private final Cache<Integer, PostIdRing> authorPosts;
+
+    public TimelineCacheRepository(@Value("${timeline.capacity}") int capacity,
+                                   @Value("${timeline.cache.maximum-size}") long maximumSize,
+                                   @Value("${timeline.cache.expired-time-ms}") long expiredTimeMs) {
+        this.capacity = capacity;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofMillis(expiredTimeMs))
+                .recordStats()
+                .build();
+        this.authorPosts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofMillis(expiredTimeMs))
+                .build();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Timeline getTimeline(Integer userId, Function<Integer, TimelineSource> loader) {
+        return timelines.get(userId, id -> {
+            final TimelineSource source = loader.apply(id);
+            return new Timeline(PostIdRing.of(capacity, source.getPostIds()), source.getCelebrityIds().stream().mapToInt(Integer::intValue).toArray());
+        });
+    }
+
+    public int[] getAuthorPostIds(Integer authorId, Function<Integer, List<Integer>> loader) {
+        return authorPosts.get(authorId, id -> PostIdRing.of(capacity, loader.apply(id))).snapshot();
+    }
+
+    // 캐시에 올라와 있는 타임라인에만 반영한다. 올라와 있지 않은 타임라인은 다음 조회 시 DB 에서 읽는다.
+    public void pushToTimeline(Integer userId, int postId) {
+        final Timeline timeline = timelines.getIfPresent(userId);
+        if (timeline != null) {
+            timeline.postIds.push(postId);
+        }
+    }
+
+    public void pushToAuthor(Integer authorId, int postId) {
+        final PostIdRing ring = authorPosts.getIfPresent(authorId);
+        if (ring != null) {
+            ring.push(postId);
+        }
+    }
+
+    public void evict(Integer userId) {
+        timelines.invalidate(userId);
+    }
+
+    public void evictAuthor(Integer authorId) {
+        authorPosts.invalidate(authorId);
+    }
+
+    public CacheStats stats() {
+        return timelines.stats();
+    }
+
+    public long estimatedSize() {
+        return timelines.estimatedSize();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TimelineSource {
+        // 최신순
+        private final List<Integer> postIds;
+        private final List<Integer> celebrityIds;
+    }
+
+    public static class Timeline {
+        private final PostIdRing postIds;
+        private final int[] celebrityIds;
+
+        private Timeline(PostIdRing postIds, int[] celebrityIds) {
+            this.postIds = postIds;
+            this.celebrityIds = celebrityIds;
+        }
+
+        public int[] getPostIds() {
+            return postIds.snapshot();
+        }
+
+        public int[] getCelebrityIds() {
+            return celebrityIds;
+        }
+    }
+
+    // 가장 오래된 id 부터 덮어쓰는 고정 크기 buffer. boxing 없이 int 배열에 보관한다.
+    private static class PostIdRing {
+        private final int[] ids;
+        private int next;
+        private int size;
+
+        private PostIdRing(int capacity) {
+            this.ids = new int[capacity];
+        }
+
+        static PostIdRing of(int capacity, List<Integer> newestFirst) {
+            final PostIdRing ring = new PostIdRing(capacity);
+            for (int i = Math.min(newestFirst.size(), capacity) - 1; i >= 0; i--) {
+                ring.push(newestFirst.get(i));
+            }
+
+            return ring;
+        }
+
+        synchronized void push(int id) {
+            ids[next] = id;
+            next = (next + 1) % ids.length;
+            size = Math.min(size + 1, ids.length);
+        }
+
+        synchronized int[] snapshot() {
+            final int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = ids[Math.floorMod(next - 1 - i, ids.length)];
+            }
+
+            return result;
+        }
+    }
+
+}
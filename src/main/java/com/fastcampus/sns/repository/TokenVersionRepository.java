@@ -0,0 +1,37 @@
+package com.fastcampus.sns.repository;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+@Repository
+public class TokenVersionRepository {
+
+    // 삭제된 유저의 토큰은 어떤 version 으로도 통과하지 못한다.
+    public static final int REVOKED = -1;
+
+    private final LoadingCache<Integer, Integer> cache;
+
+    public TokenVersionRepository(UserEntityRepository userEntityRepository,
+                                  @Value("${jwt.token.version-cache.maximum-size}") long maximumSize,
+                                  @Value("${jwt.token.version-cache.expired-time-ms}") long expiredTimeMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expiredTimeMs))
+                .build(userId -> userEntityRepository.findById(userId)
+                        .map(it -> it.getTokenVersion() == null ? 0 : it.getTokenVersion())
+                        .orElse(REVOKED));
+    }
+
+    public int getVersion(Integer userId) {
+        return cache.get(userId);
+    }
+
+    public void evict(Integer userId) {
+        cache.invalidate(userId);
+    }
+
+}
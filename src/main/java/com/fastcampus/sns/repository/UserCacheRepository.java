@@ -0,0 +1,45 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Repository
+public class UserCacheRepository {
+
+    private final Cache<String, User> cache;
+
+    public UserCacheRepository(@Value("${user.cache.maximum-size}") long maximumSize,
+                               @Value("${user.cache.expired-time-ms}") long expiredTimeMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expiredTimeMs))
+                .recordStats()
+                .build();
+    }
+
+    // loader 가 null 을 반환하면 캐시하지 않는다.
+    public Optional<User> getUser(String userName, Function<String, User> loader) {
+        return Optional.ofNullable(cache.get(userName, loader));
+    }
+
+    public void evict(String userName) {
+        cache.invalidate(userName);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+}
@@ -2,13 +2,27 @@ package com.fastcampus.sns.repository;
 
 import com.fastcampus.sns.model.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserEntityRepository extends JpaRepository<UserEntity, Integer> {
 
+    // 가입 직후 로그인이 replica 지연으로 실패하지 않도록 트랜잭션 밖에서 부르면 primary 에서 읽는다. readOnly 트랜잭션 안에서 부르면 replica 에서 읽는다.
+    @Transactional
     Optional<UserEntity> findByUserName(String userName);
 
+    List<UserEntity> findAllByUserNameIn(Collection<String> userNames);
+
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.followerCount = COALESCE(u.followerCount, 0) + :delta WHERE u.id = :userId")
+    int addFollowerCount(@Param("userId") Integer userId, @Param("delta") int delta);
+
 }
@@ -0,0 +1,168 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.model.AlarmEvent;
+import com.fastcampus.sns.repository.AlarmBatchRepository;
+import com.fastcampus.sns.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 알람은 bounded queue 에 쌓고 별도 worker 가 batch 로 적재한 뒤 SSE 로 전달한다. 요청 thread 는 알람 저장을 기다리지 않는다.
+@Slf4j
+@Component
+public class AlarmProducer {
+
+    private static final long POLL_TIMEOUT_MS = 500;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    public enum OverflowPolicy {
+        // queue 가 가득 차면 바로 버린다.
+        DROP,
+        // queue 가 가득 차면 block-timeout-ms 만큼 기다린 뒤에도 자리가 없으면 버린다.
+        BLOCK,
+    }
+
+    private final AlarmBatchRepository alarmBatchRepository;
+    private final AlarmService alarmService;
+    private final BlockingQueue<AlarmEvent> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+    private final int batchSize;
+
+    private final LongAdder offered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AlarmProducer(AlarmBatchRepository alarmBatchRepository,
+                         AlarmService alarmService,
+                         @Value("${alarm.queue.capacity}") int capacity,
+                         @Value("${alarm.queue.overflow-policy}") OverflowPolicy overflowPolicy,
+                         @Value("${alarm.queue.block-timeout-ms}") long blockTimeoutMs,
+                         @Value("${alarm.worker.batch-size}") int batchSize) {
+        this.alarmBatchRepository = alarmBatchRepository;
+        this.alarmService = alarmService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::work, "alarm-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+        }
+    }
+
+    // 트랜잭션 안에서 호출되면 commit 이후에 queue 에 넣어, rollback 된 작업의 알람이 저장되지 않도록 한다.
+    public void send(AlarmEvent event) {
+        TransactionUtils.afterCommit(() -> offer(event));
+    }
+
+    public long getOfferedCount() {
+        return offered.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getRemainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    private void offer(AlarmEvent event) {
+        offered.increment();
+
+        if (!enqueue(event)) {
+            dropped.increment();
+            log.warn("Alarm queue is full. drop alarm {} to user {}", event.getAlarmType(), event.getUserId());
+        }
+    }
+
+    private boolean enqueue(AlarmEvent event) {
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            return queue.offer(event);
+        }
+
+        try {
+            return queue.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 종료 요청 이후에도 queue 에 남은 알람은 모두 적재한 뒤 끝낸다.
+    private void work() {
+        final List<AlarmEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                final AlarmEvent first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AlarmEvent> batch) {
+        try {
+            alarmBatchRepository.saveAll(batch);
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            // 적재에 실패한 알람은 버리고 worker 는 계속 동작한다.
+            failed.add(batch.size());
+            log.error("Error occurs while writing {} alarms. {}", batch.size(), e.toString());
+            return;
+        }
+
+        // 적재된 알람만 연결된 유저에게 바로 보낸다. 전송은 AlarmService 의 thread 에서 하므로 적재를 막지 않는다.
+        batch.forEach(alarmService::push);
+    }
+
+}
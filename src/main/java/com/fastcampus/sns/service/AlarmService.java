@@ -0,0 +1,136 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.controller.response.AlarmResponse;
+import com.fastcampus.sns.model.Alarm;
+import com.fastcampus.sns.model.AlarmEvent;
+import com.fastcampus.sns.repository.AlarmEntityRepository;
+import com.fastcampus.sns.repository.EmitterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+public class AlarmService {
+
+    private static final String ALARM_EVENT_NAME = "alarm";
+
+    private final AlarmEntityRepository alarmEntityRepository;
+    private final EmitterRepository emitterRepository;
+    private final long emitterTimeoutMs;
+    private final long heartbeatIntervalMs;
+
+    // heartbeat 는 이 thread 가 tick 마다 모든 emitter 에 직접 보낸다. pushExecutor 의 queue 를 쓰지 않으므로 구독자가 많아도 알람 전송 자리를 빼앗지 않는다.
+    // 한 tick 이 주기보다 오래 걸리면 다음 tick 이 늦어질 뿐 겹쳐 실행되지 않는다.
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // SseEmitter.send 는 socket 에 쓸 때까지 block 되므로, 느린 연결이 알람 적재나 다른 연결의 전송을 막지 않도록 emitter 마다 따로 보낸다.
+    // queue 가 가득 차면 전송을 버린다. 알람은 이미 적재되어 있으므로 다음 목록 조회 시 확인할 수 있다.
+    private final ThreadPoolExecutor pushExecutor;
+    private final LongAdder droppedPushes = new LongAdder();
+
+    public AlarmService(AlarmEntityRepository alarmEntityRepository,
+                        EmitterRepository emitterRepository,
+                        @Value("${alarm.sse.timeout-ms}") long emitterTimeoutMs,
+                        @Value("${alarm.sse.heartbeat-interval-ms}") long heartbeatIntervalMs,
+                        @Value("${alarm.sse.push.threads}") int pushThreads,
+                        @Value("${alarm.sse.push.queue-capacity}") int pushQueueCapacity) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+
+        this.alarmEntityRepository = alarmEntityRepository;
+        this.emitterRepository = emitterRepository;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.pushExecutor = new ThreadPoolExecutor(pushThreads, pushThreads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(pushQueueCapacity), runnable -> {
+            final Thread thread = new Thread(runnable, "sse-push-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, executor) -> droppedPushes.increment());
+    }
+
+    @PostConstruct
+    public void startHeartbeat() {
+        heartbeatScheduler.scheduleAtFixedRate(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopHeartbeat() {
+        heartbeatScheduler.shutdownNow();
+        pushExecutor.shutdownNow();
+        emitterRepository.forEach((userId, emitter) -> emitter.complete());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Alarm> list(Integer userId, Pageable pageable) {
+        return alarmEntityRepository.findAllByUserId(userId, pageable).map(Alarm::fromEntity);
+    }
+
+    public SseEmitter subscribe(Integer userId) {
+        final SseEmitter emitter = emitterRepository.save(userId, new SseEmitter(emitterTimeoutMs));
+
+        emitter.onCompletion(() -> emitterRepository.delete(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitterRepository.delete(userId, emitter));
+
+        // 첫 이벤트를 보내야 응답 header 가 내려가고 EventSource 가 연결된 것으로 인식한다.
+        send(userId, emitter, SseEmitter.event().comment("connected"));
+
+        return emitter;
+    }
+
+    // 알람을 받을 유저가 연결되어 있을 때만 보낸다. 연결되어 있지 않으면 다음 조회 시 목록에서 확인한다.
+    // 전송은 pushExecutor 에서 하므로 호출한 thread 는 기다리지 않는다.
+    public void push(AlarmEvent event) {
+        for (SseEmitter emitter : emitterRepository.get(event.getUserId())) {
+            pushExecutor.execute(() -> send(event.getUserId(), emitter, SseEmitter.event()
+                    .name(ALARM_EVENT_NAME)
+                    .data(AlarmResponse.fromAlarm(Alarm.fromEvent(event)))));
+        }
+    }
+
+    public int subscriberCount() {
+        return emitterRepository.count();
+    }
+
+    public int getPushQueueSize() {
+        return pushExecutor.getQueue().size();
+    }
+
+    public long getDroppedPushCount() {
+        return droppedPushes.sum();
+    }
+
+    void heartbeat() {
+        emitterRepository.forEach((userId, emitter) -> send(userId, emitter, SseEmitter.event().comment("heartbeat")));
+    }
+
+    private void send(Integer userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // 끊어진 연결은 정리한다.
+            emitterRepository.delete(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+}
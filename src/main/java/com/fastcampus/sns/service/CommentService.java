@@ -0,0 +1,78 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import com.fastcampus.sns.model.AlarmEvent;
+import com.fastcampus.sns.model.AlarmType;
+import com.fastcampus.sns.model.Comment;
+import com.fastcampus.sns.model.entity.CommentEntity;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import com.fastcampus.sns.repository.CommentEntityRepository;
+import com.fastcampus.sns.repository.PostEntityRepository;
+import com.fastcampus.sns.repository.UserEntityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CommentService {
+
+    private final CommentEntityRepository commentEntityRepository;
+    private final PostEntityRepository postEntityRepository;
+    private final UserEntityRepository userEntityRepository;
+    private final AlarmProducer alarmProducer;
+
+    @Transactional
+    public void create(Integer postId, Integer userId, String comment) {
+        final PostEntity postEntity = getPostEntity(postId);
+
+        // 인증된 유저의 id 로 reference 만 잡고 유저를 다시 조회하지 않는다.
+        commentEntityRepository.save(CommentEntity.of(comment, postEntity, userEntityRepository.getById(userId)));
+
+        // 자신의 post 에 단 댓글은 알람을 보내지 않는다.
+        if (!postEntity.getUser().getId().equals(userId)) {
+            alarmProducer.send(AlarmEvent.of(postEntity.getUser().getId(), AlarmType.NEW_COMMENT_ON_POST, userId, postId));
+        }
+    }
+
+    // offset 없이 마지막으로 조회한 id 다음부터 (post_id, id) index 로 조회하고, 작성자는 페이지마다 한번에 조회한다.
+    @Transactional(readOnly = true)
+    public Slice<Comment> list(Integer postId, Integer lastId, int size) {
+        if (!postEntityRepository.existsById(postId)) {
+            throw new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%s not founded", postId));
+        }
+
+        final Pageable pageable = PageRequest.of(0, size);
+        final Slice<CommentEntity> comments = lastId == null
+                ? commentEntityRepository.findAllByPostIdOrderByIdAsc(postId, pageable)
+                : commentEntityRepository.findAllByPostIdAndIdGreaterThanOrderByIdAsc(postId, lastId, pageable);
+
+        final Map<Integer, UserEntity> users = getUserEntities(comments);
+
+        return comments.map(it -> Comment.fromEntity(it, users.get(it.getUser().getId())));
+    }
+
+    private Map<Integer, UserEntity> getUserEntities(Slice<CommentEntity> comments) {
+        final Set<Integer> userIds = comments.stream()
+                .map(it -> it.getUser().getId())
+                .collect(Collectors.toSet());
+
+        return userEntityRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+    }
+
+    private PostEntity getPostEntity(Integer postId) {
+        return postEntityRepository.findById(postId).orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%s not founded", postId)));
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import com.fastcampus.sns.model.entity.FollowEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import com.fastcampus.sns.repository.FollowEntityRepository;
+import com.fastcampus.sns.repository.UserEntityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class FollowService {
+
+    private final FollowEntityRepository followEntityRepository;
+    private final UserEntityRepository userEntityRepository;
+    private final TimelineService timelineService;
+
+    @Transactional
+    public void follow(Integer followerId, Integer followingId) {
+        if (followerId.equals(followingId)) {
+            throw new SnsApplicationException(ErrorCode.INVALID_FOLLOW, String.format("%s cannot follow oneself", followerId));
+        }
+
+        final UserEntity following = userEntityRepository.findById(followingId).orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", followingId)));
+
+        if (followEntityRepository.existsByFollowerIdAndFollowingId(followerId, followingId)) {
+            throw new SnsApplicationException(ErrorCode.ALREADY_FOLLOWED, String.format("%s already followed %s", followerId, followingId));
+        }
+
+        if (followEntityRepository.restore(followerId, followingId) == 0) {
+            try {
+                followEntityRepository.saveAndFlush(FollowEntity.of(userEntityRepository.getById(followerId), following));
+            } catch (DataIntegrityViolationException e) {
+                // 동시에 들어온 팔로우 요청은 unique 제약으로 한 건만 들어간다.
+                throw new SnsApplicationException(ErrorCode.ALREADY_FOLLOWED, String.format("%s already followed %s", followerId, followingId));
+            }
+        }
+        userEntityRepository.addFollowerCount(followingId, 1);
+
+        final int followerCount = following.getFollowerCount() == null ? 0 : following.getFollowerCount();
+        timelineService.followChanged(followerId, followingId, followerCount, followerCount + 1);
+    }
+
+    @Transactional
+    public void unfollow(Integer followerId, Integer followingId) {
+        final FollowEntity followEntity = followEntityRepository.findByFollowerIdAndFollowingId(followerId, followingId).orElseThrow(() -> new SnsApplicationException(ErrorCode.FOLLOW_NOT_FOUND, String.format("%s not followed %s", followerId, followingId)));
+
+        final Integer followerCount = followEntity.getFollowing().getFollowerCount();
+
+        followEntityRepository.delete(followEntity);
+        userEntityRepository.addFollowerCount(followingId, -1);
+
+        timelineService.followChanged(followerId, followingId, followerCount, followerCount == null ? null : followerCount - 1);
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.model.AlarmEvent;
+import com.fastcampus.sns.model.AlarmType;
+import com.fastcampus.sns.model.TrendingHashtag;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.model.entity.PostHashtagEntity;
+import com.fastcampus.sns.model.entity.PostMentionEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import com.fastcampus.sns.repository.HashtagTrendingRepository;
+import com.fastcampus.sns.repository.PostHashtagEntityRepository;
+import com.fastcampus.sns.repository.PostMentionEntityRepository;
+import com.fastcampus.sns.repository.UserEntityRepository;
+import com.fastcampus.sns.util.TokenizerUtils;
+import com.fastcampus.sns.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// post 본문의 #hashtag 와 @mention 을 따로 저장한다. 수정 시에는 달라진 것만 반영하고, 새로 추가된 것만 trending 과 알람에 반영한다.
+@Service
+public class HashtagService {
+
+    private final PostHashtagEntityRepository postHashtagEntityRepository;
+    private final PostMentionEntityRepository postMentionEntityRepository;
+    private final UserEntityRepository userEntityRepository;
+    private final HashtagTrendingRepository hashtagTrendingRepository;
+    private final AlarmProducer alarmProducer;
+    private final int maxMentionsPerPost;
+
+    public HashtagService(PostHashtagEntityRepository postHashtagEntityRepository,
+                          PostMentionEntityRepository postMentionEntityRepository,
+                          UserEntityRepository userEntityRepository,
+                          HashtagTrendingRepository hashtagTrendingRepository,
+                          AlarmProducer alarmProducer,
+                          @Value("${hashtag.mention.max-per-post}") int maxMentionsPerPost) {
+        this.postHashtagEntityRepository = postHashtagEntityRepository;
+        this.postMentionEntityRepository = postMentionEntityRepository;
+        this.userEntityRepository = userEntityRepository;
+        this.hashtagTrendingRepository = hashtagTrendingRepository;
+        this.alarmProducer = alarmProducer;
+        this.maxMentionsPerPost = maxMentionsPerPost;
+    }
+
+    public void create(PostEntity postEntity, Integer userId, String body) {
+        saveHashtags(postEntity, Set.of(), TokenizerUtils.extractHashtags(body));
+        saveMentions(postEntity, userId, List.of(), TokenizerUtils.extractMentions(body));
+    }
+
+    public void modify(PostEntity postEntity, Integer userId, String body) {
+        final Set<String> hashtags = TokenizerUtils.extractHashtags(body);
+        final Set<String> mentions = TokenizerUtils.extractMentions(body);
+
+        saveHashtags(postEntity, new HashSet<>(postHashtagEntityRepository.findTagsByPostId(postEntity.getId())), hashtags);
+        saveMentions(postEntity, userId, postMentionEntityRepository.findUsersByPostId(postEntity.getId()), mentions);
+    }
+
+    public void delete(Integer postId) {
+        postHashtagEntityRepository.deleteAllByPostId(postId);
+        postMentionEntityRepository.deleteAllByPostId(postId);
+    }
+
+    public List<TrendingHashtag> trending(int size) {
+        return hashtagTrendingRepository.getTrending(size);
+    }
+
+    @Scheduled(fixedDelayString = "${hashtag.trending.refresh-interval-ms}")
+    public void refreshTrending() {
+        hashtagTrendingRepository.refresh();
+    }
+
+    private void saveHashtags(PostEntity postEntity, Set<String> before, Set<String> after) {
+        final Set<String> removed = difference(before, after);
+        if (!removed.isEmpty()) {
+            postHashtagEntityRepository.deleteAllByPostIdAndTagIn(postEntity.getId(), removed);
+        }
+
+        final Set<String> added = difference(after, before);
+        if (added.isEmpty()) {
+            return;
+        }
+
+        postHashtagEntityRepository.saveAll(added.stream().map(tag -> PostHashtagEntity.of(postEntity, tag)).collect(Collectors.toList()));
+        TransactionUtils.afterCommit(() -> hashtagTrendingRepository.increment(added));
+    }
+
+    // 본문 앞쪽부터 max-per-post 개의 멘션만 저장한다. 이미 저장된 유저 이름과 비교해 새로 멘션된 이름만 조회하고 알람을 보낸다.
+    // 존재하지 않는 유저 이름은 무시하고, 본인을 멘션한 경우 알람을 보내지 않는다.
+    private void saveMentions(PostEntity postEntity, Integer userId, List<UserEntity> before, Set<String> mentions) {
+        final Set<String> userNames = mentions.stream().limit(maxMentionsPerPost).collect(Collectors.toCollection(LinkedHashSet::new));
+
+        final Set<Integer> removed = before.stream()
+                .filter(it -> !userNames.contains(it.getUserName()))
+                .map(UserEntity::getId)
+                .collect(Collectors.toSet());
+        if (!removed.isEmpty()) {
+            postMentionEntityRepository.deleteAllByPostIdAndUserIdIn(postEntity.getId(), removed);
+        }
+
+        final Set<String> addedNames = difference(userNames, before.stream().map(UserEntity::getUserName).collect(Collectors.toSet()));
+        final List<UserEntity> added = addedNames.isEmpty() ? List.of() : userEntityRepository.findAllByUserNameIn(addedNames);
+        if (added.isEmpty()) {
+            return;
+        }
+
+        postMentionEntityRepository.saveAll(added.stream().map(it -> PostMentionEntity.of(postEntity, it)).collect(Collectors.toList()));
+        added.stream()
+                .filter(it -> !it.getId().equals(userId))
+                .forEach(it -> alarmProducer.send(AlarmEvent.of(it.getId(), AlarmType.NEW_MENTION_ON_POST, userId, postEntity.getId())));
+    }
+
+    private static <T> Set<T> difference(Collection<T> source, Collection<T> other) {
+        return source.stream().filter(it -> !other.contains(it)).collect(Collectors.toSet());
+    }
+
+}
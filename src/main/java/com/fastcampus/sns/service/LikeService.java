@@ -0,0 +1,70 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import com.fastcampus.sns.model.AlarmEvent;
+import com.fastcampus.sns.model.AlarmType;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.repository.LikeCacheRepository;
+import com.fastcampus.sns.repository.LikeCacheRepository.PostLikes;
+import com.fastcampus.sns.repository.LikeEntityRepository;
+import com.fastcampus.sns.repository.PostEntityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+
+@Service
+@RequiredArgsConstructor
+public class LikeService {
+
+    private final LikeEntityRepository likeEntityRepository;
+    private final PostEntityRepository postEntityRepository;
+    private final LikeCacheRepository likeCacheRepository;
+    private final AlarmProducer alarmProducer;
+
+    @Value("${like.flush.batch-size}")
+    private int batchSize;
+
+    public void like(Integer postId, Integer userId) {
+        if (likeCacheRepository.isPending(postId, userId) || likeEntityRepository.existsByUserIdAndPostId(userId, postId)) {
+            throw new SnsApplicationException(ErrorCode.ALREADY_LIKED, String.format("%s already liked post %s", userId, postId));
+        }
+
+        if (!likeCacheRepository.add(postId, userId, this::load)) {
+            throw new SnsApplicationException(ErrorCode.ALREADY_LIKED, String.format("%s already liked post %s", userId, postId));
+        }
+
+        // 자신의 post 에 누른 좋아요는 알람을 보내지 않는다.
+        final Integer postUserId = likeCacheRepository.getPostUserId(postId, this::load);
+        if (!postUserId.equals(userId)) {
+            alarmProducer.send(AlarmEvent.of(postUserId, AlarmType.NEW_LIKE_ON_POST, userId, postId));
+        }
+    }
+
+    public long count(Integer postId) {
+        return likeCacheRepository.getCount(postId, this::load);
+    }
+
+    @Scheduled(fixedDelayString = "${like.flush.interval-ms}")
+    public void flush() {
+        while (likeCacheRepository.flush(batchSize) == batchSize) {
+            // 쌓인 좋아요가 batch 보다 많으면 이어서 적재한다.
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // 알람을 받을 post 작성자도 좋아요 수와 함께 캐시해 좋아요마다 post 를 조회하지 않는다.
+    private PostLikes load(Integer postId) {
+        final PostEntity postEntity = postEntityRepository.findById(postId).orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%s not founded", postId)));
+
+        return new PostLikes(postEntity.getUser().getId(), likeEntityRepository.countByPostId(postId));
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCrypt 는 CPU 를 오래 쓰므로 크기가 정해진 thread pool 에서만 계산한다. queue 가 가득 차면 기다리지 않고 실패한다.
+@Service
+public class PasswordHashingService {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    // 없는 유저로 로그인해도 같은 비용의 비교를 거치게 해, 응답 시간으로 가입 여부를 알 수 없게 한다.
+    private final String dummyHash;
+
+    public PasswordHashingService(BCryptPasswordEncoder encoder,
+                                  @Value("${password.hashing.threads}") int threads,
+                                  @Value("${password.hashing.queue-capacity}") int queueCapacity,
+                                  @Value("${password.hashing.timeout-ms}") long timeoutMs) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+
+        this.encoder = encoder;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            final Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMs = timeoutMs;
+        this.dummyHash = encoder.encode("dummy-password");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    public void matchesDummy(String rawPassword) {
+        submit(() -> encoder.matches(rawPassword, dummyHash));
+    }
+
+    // 설정된 strength 보다 낮은 strength 로 만든 hash 인지
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        final Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new SnsApplicationException(ErrorCode.SERVICE_UNAVAILABLE, "Password hashing queue is full");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 아직 queue 에 있는 작업이라면 계산하지 않고 버려진다.
+            future.cancel(true);
+            throw new SnsApplicationException(ErrorCode.SERVICE_UNAVAILABLE, String.format("Password hashing timed out after %d ms", timeoutMs));
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SnsApplicationException(ErrorCode.SERVICE_UNAVAILABLE, "Password hashing is interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.repository.PostEntityRepository;
+import com.fastcampus.sns.repository.PostIndexRepository;
+import com.fastcampus.sns.repository.PostIndexRepository.SearchResult;
+import com.fastcampus.sns.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+// 색인은 메모리에만 있으므로 주기적으로, 그리고 종료 시 파일로 남기고 시작 시 snapshot 이후 변경분만 다시 색인한다.
+@Slf4j
+@Service
+public class PostSearchService {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    // commit 과 색인 사이에 snapshot 이 찍힌 변경분도 다시 읽도록 여유를 둔다.
+    private static final long SNAPSHOT_MARGIN_MS = 60_000;
+
+    private final PostIndexRepository postIndexRepository;
+    private final PostEntityRepository postEntityRepository;
+    private final Path snapshotPath;
+
+    private volatile long snapshotModCount;
+
+    // 전체 색인 중에 commit 된 변경은 loader 가 그보다 먼저 읽은 내용으로 덮어쓰지 않도록 모아 두었다가 색인이 끝난 뒤 순서대로 반영한다.
+    // 색인이 끝나면 null 이 되고 이후 변경은 바로 반영한다.
+    private final Object pendingLock = new Object();
+    private List<Runnable> pendingUpdates = new ArrayList<>();
+
+    public PostSearchService(PostIndexRepository postIndexRepository,
+                             PostEntityRepository postEntityRepository,
+                             @Value("${search.index.snapshot-path}") String snapshotPath) {
+        this.postIndexRepository = postIndexRepository;
+        this.postEntityRepository = postEntityRepository;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Paths.get(snapshotPath);
+    }
+
+    public Page<Integer> search(String query, Pageable pageable) {
+        final SearchResult result = postIndexRepository.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+
+        return new PageImpl<>(result.getPostIds(), pageable, result.getTotalHits());
+    }
+
+    public void index(Integer postId, String title, String body) {
+        TransactionUtils.afterCommit(() -> apply(() -> postIndexRepository.index(postId, title, body)));
+    }
+
+    public void indexAll(List<PostEntity> postEntities) {
+        TransactionUtils.afterCommit(() -> apply(() -> postEntities.forEach(it -> postIndexRepository.index(it.getId(), it.getTitle(), it.getBody()))));
+    }
+
+    public void remove(Integer postId) {
+        TransactionUtils.afterCommit(() -> apply(() -> postIndexRepository.remove(postId)));
+    }
+
+    // 전체 색인에는 시간이 걸리므로 별도 thread 에서 채우고, 그동안의 검색은 채워진 만큼만 결과를 반환한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        final Thread loader = new Thread(this::restore, "post-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.snapshot-interval-ms}", initialDelayString = "${search.index.snapshot-interval-ms}")
+    public void scheduledSnapshot() {
+        snapshot();
+    }
+
+    @PreDestroy
+    public void snapshot() {
+        final long modCount = postIndexRepository.getModCount();
+        if (snapshotPath == null || modCount == snapshotModCount) {
+            return;
+        }
+
+        try {
+            postIndexRepository.writeSnapshot(snapshotPath, System.currentTimeMillis());
+            snapshotModCount = modCount;
+            log.info("Post index snapshot written. posts: {}, path: {}", postIndexRepository.size(), snapshotPath);
+        } catch (IOException e) {
+            log.error("Error occurs while writing post index snapshot to {}. {}", snapshotPath, e.toString());
+        }
+    }
+
+    void restore() {
+        try {
+            final long since = readSnapshot();
+            final int indexed = indexFrom(postIndexRepository.getMaxPostId());
+
+            int changed = 0;
+            if (since > 0) {
+                final Timestamp timestamp = new Timestamp(since - SNAPSHOT_MARGIN_MS);
+                final List<PostEntity> modified = postEntityRepository.findAllByRegisteredAtGreaterThanEqualOrUpdatedAtGreaterThanEqual(timestamp, timestamp);
+                modified.forEach(it -> postIndexRepository.index(it.getId(), it.getTitle(), it.getBody()));
+
+                final List<Integer> deletedIds = postEntityRepository.findDeletedIdsSince(timestamp);
+                deletedIds.forEach(postIndexRepository::remove);
+
+                changed = modified.size() + deletedIds.size();
+            }
+
+            log.info("Post index loaded. posts: {}, indexed after snapshot: {}, changed after snapshot: {}", postIndexRepository.size(), indexed, changed);
+        } catch (RuntimeException e) {
+            log.error("Error occurs while loading post index. {}", e.toString());
+        } finally {
+            applyPendingUpdates();
+        }
+    }
+
+    private void apply(Runnable update) {
+        synchronized (pendingLock) {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+                return;
+            }
+        }
+
+        update.run();
+    }
+
+    // 반영하는 동안 들어온 변경도 이어서 반영하고, 더 없을 때 바로 반영하도록 바꾼다.
+    private void applyPendingUpdates() {
+        while (true) {
+            final List<Runnable> updates;
+            synchronized (pendingLock) {
+                if (pendingUpdates.isEmpty()) {
+                    pendingUpdates = null;
+                    return;
+                }
+
+                updates = pendingUpdates;
+                pendingUpdates = new ArrayList<>();
+            }
+
+            updates.forEach(Runnable::run);
+        }
+    }
+
+    // snapshot 을 읽었으면 snapshot 시각을, 없거나 쓸 수 없으면 0 을 반환한다.
+    private long readSnapshot() {
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            return 0;
+        }
+
+        final long takenAt;
+        try {
+            takenAt = postIndexRepository.readSnapshot(snapshotPath);
+        } catch (IOException e) {
+            log.warn("Post index snapshot {} is unreadable. rebuild index. {}", snapshotPath, e.toString());
+            postIndexRepository.clear();
+            return 0;
+        }
+
+        // DB 가 다시 만들어졌다면 snapshot 의 post 가 남아 있지 않으므로 버린다.
+        final Integer maxId = postEntityRepository.findMaxIdIncludingDeleted();
+        if (maxId == null || maxId < postIndexRepository.getMaxPostId()) {
+            log.warn("Post index snapshot {} is ahead of database. rebuild index.", snapshotPath);
+            postIndexRepository.clear();
+            return 0;
+        }
+
+        snapshotModCount = postIndexRepository.getModCount();
+
+        return takenAt;
+    }
+
+    private int indexFrom(int lastId) {
+        int indexed = 0;
+        List<PostEntity> chunk;
+        do {
+            chunk = postEntityRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            for (PostEntity postEntity : chunk) {
+                postIndexRepository.index(postEntity.getId(), postEntity.getTitle(), postEntity.getBody());
+                lastId = postEntity.getId();
+            }
+            indexed += chunk.size();
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+
+        return indexed;
+    }
+
+}
@@ -3,64 +3,204 @@ package com.fastcampus.sns.service;
 import com.fastcampus.sns.exception.ErrorCode;
 import com.fastcampus.sns.exception.SnsApplicationException;
 import com.fastcampus.sns.model.Post;
+import com.fastcampus.sns.model.PostContent;
 import com.fastcampus.sns.model.entity.PostEntity;
 import com.fastcampus.sns.model.entity.UserEntity;
+import com.fastcampus.sns.repository.PostCacheRepository;
 import com.fastcampus.sns.repository.PostEntityRepository;
 import com.fastcampus.sns.repository.UserEntityRepository;
+import com.fastcampus.sns.util.CursorUtils;
+import com.fastcampus.sns.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class PostService {
 
+    // stream 응답은 이 수만큼씩 읽고, 읽을 때마다 persistence context 를 비운다.
+    private static final int STREAM_CHUNK_SIZE = 100;
+
     private final PostEntityRepository postEntityRepository;
+    private final PostCacheRepository postCacheRepository;
     private final UserEntityRepository userEntityRepository;
+    private final TimelineService timelineService;
+    private final PostSearchService postSearchService;
+    private final HashtagService hashtagService;
+    private final EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Value("${post.bulk.max-size}")
+    private int bulkMaxSize;
 
     @Transactional
     public void create(String title, String body, String userName) {
         final UserEntity userEntity = userEntityRepository.findByUserName(userName).orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
-        postEntityRepository.save(PostEntity.of(title, body, userEntity));
+        final PostEntity postEntity = postEntityRepository.save(PostEntity.of(title, body, userEntity));
+
+        hashtagService.create(postEntity, userEntity.getId(), body);
+        timelineService.fanOut(userEntity.getId(), userEntity.getFollowerCount(), postEntity.getId());
+        postSearchService.index(postEntity.getId(), title, body);
     }
 
+    // 이전 시스템에서 옮겨 오는 post 를 한 트랜잭션에서 batch insert 한다.
+    // batch size 마다 flush 하고 persistence context 를 비워 메모리를 일정하게 유지한다. hashtag, 알람, 타임라인 fan-out 은 하지 않는다.
     @Transactional
-    public Post modify(String title, String body, String userName, Integer postId) {
+    public int bulkCreate(List<PostContent> contents, String userName) {
+        if (contents == null || contents.isEmpty() || contents.size() > bulkMaxSize) {
+            throw new SnsApplicationException(ErrorCode.INVALID_BULK_SIZE, String.format("bulk size must be between 1 and %s", bulkMaxSize));
+        }
+
         final UserEntity userEntity = userEntityRepository.findByUserName(userName).orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
-        final PostEntity postEntity = postEntityRepository.findById(postId).orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%s not founded", postId)));
 
-        if (postEntity.getUser() != userEntity) {
-            throw new SnsApplicationException(ErrorCode.INVALID_PERMISSION, String.format("%s has no permission with %s", userName, postId));
+        final List<PostEntity> postEntities = new ArrayList<>(contents.size());
+        for (PostContent content : contents) {
+            postEntities.add(postEntityRepository.save(PostEntity.of(content.getTitle(), content.getBody(), userEntity)));
+
+            if (postEntities.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
         }
+        entityManager.flush();
+        entityManager.clear();
+
+        postSearchService.indexAll(postEntities);
+
+        return postEntities.size();
+    }
+
+    @Transactional
+    public Post modify(String title, String body, Integer userId, Integer postId) {
+        final PostEntity postEntity = getOwnedPostEntity(userId, postId);
 
         postEntity.setTitle(title);
         postEntity.setBody(body);
 
-        return Post.fromEntity(postEntityRepository.saveAndFlush(postEntity));
+        final Post post = Post.fromEntity(postEntityRepository.saveAndFlush(postEntity));
+        hashtagService.modify(postEntity, userId, body);
+        evict(postId);
+        postSearchService.index(postId, title, body);
+
+        return post;
     }
 
     @Transactional
-    public void delete(String userName, Integer postId) {
-        final UserEntity userEntity = userEntityRepository.findByUserName(userName).orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
-        final PostEntity postEntity = postEntityRepository.findById(postId).orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%s not founded", postId)));
-
-        if (postEntity.getUser() != userEntity) {
-            throw new SnsApplicationException(ErrorCode.INVALID_PERMISSION, String.format("%s has no permission with %s", userName, postId));
-        }
+    public void delete(Integer userId, Integer postId) {
+        final PostEntity postEntity = getOwnedPostEntity(userId, postId);
 
         postEntityRepository.delete(postEntity);
+        hashtagService.delete(postId);
+        evict(postId);
+        postSearchService.remove(postId);
+    }
+
+    public Post get(Integer postId) {
+        return postCacheRepository.getPost(postId, id -> postEntityRepository.findById(id).map(Post::fromEntity).orElse(null))
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%s not founded", postId)));
     }
 
     public Page<Post> list(Pageable pageable) {
-        return postEntityRepository.findAll(pageable).map(Post::fromEntity);
+        final Page<Integer> ids = postEntityRepository.findAllIds(pageable);
+
+        return new PageImpl<>(getPosts(ids.getContent()), pageable, ids.getTotalElements());
     }
 
-    public Page<Post> myList(String userName, Pageable pageable) {
-        final UserEntity userEntity = userEntityRepository.findByUserName(userName).orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
+    // offset, count 쿼리 없이 마지막으로 조회한 id 이전부터 PK index 로 조회한다.
+    public Slice<Post> scroll(Integer lastId, int size) {
+        final Pageable pageable = PageRequest.of(0, size);
+
+        final Slice<Integer> ids = lastId == null
+                ? postEntityRepository.findAllIdsOrderByIdDesc(pageable)
+                : postEntityRepository.findAllIdsByIdLessThanOrderByIdDesc(lastId, pageable);
+
+        return new SliceImpl<>(getPosts(ids.getContent()), pageable, ids.hasNext());
+    }
+
+    // 목록을 메모리에 모으지 않고 DB 에서 chunk 단위로 읽어 한 건씩 consumer 에 넘긴다. 캐시는 거치지 않는다.
+    // chunk 를 읽을 때만 connection 을 잡으므로, 느린 client 에 쓰는 동안 connection 을 붙잡지 않는다.
+    // size 보다 한 건 더 읽어 다음 페이지가 있으면 true 를 반환한다.
+    public boolean stream(Integer lastId, int size, Consumer<Post> consumer) {
+        // size 가 0 이면 다음 페이지가 있다고만 하고 cursor 를 줄 수 없다.
+        CursorUtils.checkSize(size);
+
+        Integer cursor = lastId == null ? Integer.MAX_VALUE : lastId;
+        int remaining = size;
+        while (true) {
+            final int limit = Math.min(STREAM_CHUNK_SIZE, remaining + 1);
+            final List<PostEntity> chunk = postEntityRepository.findAllWithUserByIdLessThan(cursor, PageRequest.of(0, limit));
+            for (PostEntity postEntity : chunk) {
+                if (remaining == 0) {
+                    return true;
+                }
+
+                consumer.accept(Post.fromEntity(postEntity));
+                cursor = postEntity.getId();
+                remaining--;
+            }
+            entityManager.clear();
+
+            if (chunk.size() < limit) {
+                return false;
+            }
+        }
+    }
+
+    public Slice<Post> timeline(Integer userId, Integer lastId, int size) {
+        return timelineService.timeline(userId, lastId, size);
+    }
+
+    public Page<Post> search(String query, Pageable pageable) {
+        final Page<Integer> ids = postSearchService.search(query, pageable);
+
+        return new PageImpl<>(getPosts(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    public Page<Post> myList(Integer userId, Pageable pageable) {
+        final Page<Integer> ids = postEntityRepository.findAllIdsByUserId(userId, pageable);
+
+        return new PageImpl<>(getPosts(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    // 캐시에 없는 post 만 작성자와 함께 한번에 조회한다.
+    // id 목록은 replica 에서 읽고, 캐시에 올릴 post 는 repository 의 트랜잭션으로 primary 에서 읽는다.
+    private List<Post> getPosts(List<Integer> ids) {
+        return postCacheRepository.getPosts(ids, missing -> postEntityRepository.findAllByIdIn(missing).stream()
+                .map(Post::fromEntity)
+                .collect(Collectors.toList()));
+    }
+
+    // commit 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로 commit 이후에도 지운다.
+    private void evict(Integer postId) {
+        postCacheRepository.evict(postId);
+        TransactionUtils.afterCommit(() -> postCacheRepository.evict(postId));
+    }
+
+    // 인증된 유저의 id 와 post 의 user_id 를 비교하므로 유저를 다시 조회하지 않는다.
+    private PostEntity getOwnedPostEntity(Integer userId, Integer postId) {
+        final PostEntity postEntity = postEntityRepository.findById(postId).orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("%s not founded", postId)));
+
+        if (!postEntity.getUser().getId().equals(userId)) {
+            throw new SnsApplicationException(ErrorCode.INVALID_PERMISSION, String.format("%s has no permission with %s", userId, postId));
+        }
 
-        return postEntityRepository.findAllByUser(userEntity, pageable).map(Post::fromEntity);
+        return postEntity;
     }
 
 }
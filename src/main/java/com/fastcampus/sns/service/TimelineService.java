@@ -0,0 +1,176 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.model.Post;
+import com.fastcampus.sns.repository.FollowEntityRepository;
+import com.fastcampus.sns.repository.PostCacheRepository;
+import com.fastcampus.sns.repository.PostEntityRepository;
+import com.fastcampus.sns.repository.TimelineCacheRepository;
+import com.fastcampus.sns.repository.TimelineCacheRepository.Timeline;
+import com.fastcampus.sns.repository.TimelineCacheRepository.TimelineSource;
+import com.fastcampus.sns.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// 팔로워가 max-followers 이하인 작성자의 post 는 작성 시 팔로워 타임라인에 넣고(fan-out-on-write),
+// 그보다 많은 작성자의 post 는 조회 시 작성자별 최근 post 와 합친다(fan-out-on-read).
+@Service
+public class TimelineService {
+
+    private final TimelineCacheRepository timelineCacheRepository;
+    private final FollowEntityRepository followEntityRepository;
+    private final PostEntityRepository postEntityRepository;
+    private final PostCacheRepository postCacheRepository;
+    private final int maxFollowers;
+
+    // 팔로워 조회와 타임라인 반영은 commit 후 이 executor 에서 하므로 요청 thread 는 기다리지 않는다.
+    private final Executor fanOutExecutor;
+
+    @Autowired
+    public TimelineService(TimelineCacheRepository timelineCacheRepository,
+                           FollowEntityRepository followEntityRepository,
+                           PostEntityRepository postEntityRepository,
+                           PostCacheRepository postCacheRepository,
+                           @Value("${timeline.fan-out.max-followers}") int maxFollowers,
+                           @Value("${timeline.fan-out.threads}") int fanOutThreads,
+                           @Value("${timeline.fan-out.queue-capacity}") int fanOutQueueCapacity) {
+        this(timelineCacheRepository, followEntityRepository, postEntityRepository, postCacheRepository, maxFollowers, newFanOutExecutor(fanOutThreads, fanOutQueueCapacity));
+    }
+
+    TimelineService(TimelineCacheRepository timelineCacheRepository,
+                    FollowEntityRepository followEntityRepository,
+                    PostEntityRepository postEntityRepository,
+                    PostCacheRepository postCacheRepository,
+                    int maxFollowers,
+                    Executor fanOutExecutor) {
+        this.timelineCacheRepository = timelineCacheRepository;
+        this.followEntityRepository = followEntityRepository;
+        this.postEntityRepository = postEntityRepository;
+        this.postCacheRepository = postCacheRepository;
+        this.maxFollowers = maxFollowers;
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor instanceof ExecutorService) {
+            ((ExecutorService) fanOutExecutor).shutdownNow();
+        }
+    }
+
+    public void fanOut(Integer authorId, Integer followerCount, Integer postId) {
+        TransactionUtils.afterCommit(() -> fanOutExecutor.execute(() -> {
+            timelineCacheRepository.pushToTimeline(authorId, postId);
+
+            if (isCelebrity(followerCount)) {
+                timelineCacheRepository.pushToAuthor(authorId, postId);
+                return;
+            }
+
+            for (Integer followerId : followEntityRepository.findFollowerIds(authorId)) {
+                timelineCacheRepository.pushToTimeline(followerId, postId);
+            }
+        }));
+    }
+
+    // 팔로잉이 바뀌면 타임라인을 다시 읽는다. 팔로잉 대상의 fan-out 방식이 바뀌면 그 대상을 팔로우 하는 유저의 타임라인만 다시 읽는다.
+    public void followChanged(Integer followerId, Integer followingId, Integer followerCountBefore, Integer followerCountAfter) {
+        TransactionUtils.afterCommit(() -> {
+            timelineCacheRepository.evict(followerId);
+
+            if (isCelebrity(followerCountBefore) != isCelebrity(followerCountAfter)) {
+                fanOutExecutor.execute(() -> {
+                    // fan-out-on-write 이던 동안에는 작성자 post id 를 쌓지 않았으므로 다시 읽는다.
+                    timelineCacheRepository.evictAuthor(followingId);
+                    followEntityRepository.findFollowerIds(followingId).forEach(timelineCacheRepository::evict);
+                });
+            }
+        });
+    }
+
+    // 메모리에서 post id 를 고른 뒤 post 는 캐시에서 채우고, 캐시에 없는 post 만 한번에 조회한다.
+    public Slice<Post> timeline(Integer userId, Integer lastId, int size) {
+        final List<Integer> ids = selectPostIds(userId, lastId, size + 1);
+        final boolean hasNext = ids.size() > size;
+        final List<Integer> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        // 삭제된 post 는 조회되지 않으므로 건너뛴다.
+        final List<Post> content = postCacheRepository.getPosts(pageIds, missing -> postEntityRepository.findAllByIdIn(missing).stream()
+                .map(Post::fromEntity)
+                .collect(Collectors.toList()));
+
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    private List<Integer> selectPostIds(Integer userId, Integer lastId, int limit) {
+        final Timeline timeline = timelineCacheRepository.getTimeline(userId, this::loadTimeline);
+
+        int[] ids = timeline.getPostIds();
+        for (int celebrityId : timeline.getCelebrityIds()) {
+            final int[] authorPostIds = timelineCacheRepository.getAuthorPostIds(celebrityId, this::loadAuthorPostIds);
+            final int offset = ids.length;
+            ids = Arrays.copyOf(ids, offset + authorPostIds.length);
+            System.arraycopy(authorPostIds, 0, ids, offset, authorPostIds.length);
+        }
+
+        // fan-out 순서가 commit 순서와 다를 수 있으므로 정렬한 뒤 최신순으로 고른다.
+        Arrays.sort(ids);
+
+        final List<Integer> result = new ArrayList<>(limit);
+        for (int i = ids.length - 1; i >= 0 && result.size() < limit; i--) {
+            if (lastId != null && ids[i] >= lastId) {
+                continue;
+            }
+            if (i < ids.length - 1 && ids[i] == ids[i + 1]) {
+                continue;
+            }
+            result.add(ids[i]);
+        }
+
+        return result;
+    }
+
+    private TimelineSource loadTimeline(Integer userId) {
+        final PageRequest pageable = PageRequest.of(0, timelineCacheRepository.getCapacity());
+
+        return new TimelineSource(
+                postEntityRepository.findTimelineIds(userId, maxFollowers, pageable),
+                followEntityRepository.findCelebrityFollowingIds(userId, maxFollowers)
+        );
+    }
+
+    private List<Integer> loadAuthorPostIds(Integer authorId) {
+        return postEntityRepository.findIdsByUserId(authorId, PageRequest.of(0, timelineCacheRepository.getCapacity()));
+    }
+
+    // queue 가 가득 차면 요청 thread 에서 반영해 타임라인에서 post 가 빠지지 않게 한다.
+    private static ExecutorService newFanOutExecutor(int threads, int queueCapacity) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            final Thread thread = new Thread(runnable, "timeline-fan-out-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private boolean isCelebrity(Integer followerCount) {
+        return followerCount != null && followerCount > maxFollowers;
+    }
+
+}
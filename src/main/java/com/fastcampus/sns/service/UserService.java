@@ -4,32 +4,37 @@ import com.fastcampus.sns.exception.ErrorCode;
 import com.fastcampus.sns.exception.SnsApplicationException;
 import com.fastcampus.sns.model.User;
 import com.fastcampus.sns.model.entity.UserEntity;
+import com.fastcampus.sns.repository.LoginThrottleRepository;
+import com.fastcampus.sns.repository.UserCacheRepository;
 import com.fastcampus.sns.repository.UserEntityRepository;
 import com.fastcampus.sns.util.JwtTokenUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserEntityRepository userEntityRepository;
-    private final BCryptPasswordEncoder encoder;
+    private final UserCacheRepository userCacheRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottleRepository loginThrottleRepository;
+    private final JwtTokenUtils jwtTokenUtils;
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
-
-    @Value("${jwt.token.expired-time-ms}")
-    private Long expiredTimeMs;
+    @Value("${password.bcrypt.rehash-on-login}")
+    private boolean rehashOnLogin;
 
+    // user 캐시는 expired-time-ms 가 지나면 다시 읽으므로 replica 에서 읽는다. 없는 유저는 캐시하지 않는다.
+    @Transactional(readOnly = true)
     public User loadUserByUserName(String userName) {
-        return userEntityRepository.findByUserName(userName).map(User::fromEntity).orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
+        return userCacheRepository.getUser(userName, name -> userEntityRepository.findByUserName(name).map(User::fromEntity).orElse(null)).orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
     }
 
     @Transactional
@@ -40,22 +45,55 @@ public class UserService {
         });
 
         // 회원가입 진행 = user 를 등록
-        final UserEntity userEntity = userEntityRepository.save(UserEntity.of(userName, encoder.encode(password)));
+        final UserEntity userEntity = userEntityRepository.save(UserEntity.of(userName, passwordHashingService.encode(password)));
 
         return User.fromEntity(userEntity);
     }
 
     // TODO: implement
-    public String login(final String userName, final String password) {
+    public String login(final String userName, final String password, final String clientIp) {
+        // password hash 를 계산하기 전에 시도 횟수를 제한한다.
+        if (!loginThrottleRepository.tryAcquire(userName, clientIp)) {
+            throw new SnsApplicationException(ErrorCode.TOO_MANY_REQUESTS, String.format("Too many login attempts for %s from %s", userName, clientIp));
+        }
+
         // 회원가입 여부 체크
-        final UserEntity userEntity = userEntityRepository.findByUserName(userName).orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName)));
+        final Optional<UserEntity> found = userEntityRepository.findByUserName(userName);
+        if (found.isEmpty()) {
+            passwordHashingService.matchesDummy(password);
+            throw new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", userName));
+        }
+        final UserEntity userEntity = found.get();
 
         // 비밀번호 체크
-        if (!encoder.matches(password, userEntity.getPassword())) {
+        if (!passwordHashingService.matches(password, userEntity.getPassword())) {
             throw new SnsApplicationException(ErrorCode.INVALID_PASSWORD);
         }
 
-        return JwtTokenUtils.generateToken(userName, secretKey, expiredTimeMs);
+        if (rehashOnLogin && passwordHashingService.upgradeEncoding(userEntity.getPassword())) {
+            rehash(userEntity, password);
+        }
+
+        if (jwtTokenUtils.isSelfContained()) {
+            final Integer tokenVersion = userEntity.getTokenVersion() == null ? 0 : userEntity.getTokenVersion();
+            return jwtTokenUtils.generateToken(User.fromEntity(userEntity), tokenVersion);
+        }
+
+        return jwtTokenUtils.generateToken(userName);
+    }
+
+    public String issueSubscribeToken(String userName) {
+        return jwtTokenUtils.generateSubscribeToken(userName);
+    }
+
+    // strength 를 올린 뒤 이전 strength 로 저장된 password 를 로그인할 때 다시 hash 한다. 실패해도 로그인은 진행한다.
+    private void rehash(UserEntity userEntity, String password) {
+        try {
+            userEntity.setPassword(passwordHashingService.encode(password));
+            userEntityRepository.save(userEntity);
+        } catch (RuntimeException e) {
+            log.warn("Error occurs while rehashing password of {}. {}", userEntity.getUserName(), e.toString());
+        }
     }
 
 }
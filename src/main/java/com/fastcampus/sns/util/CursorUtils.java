@@ -0,0 +1,43 @@
+package com.fastcampus.sns.util;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class CursorUtils {
+
+    // Pageable 의 기본 max-page-size 와 같다.
+    public static final int MAX_SIZE = 2000;
+
+    public static String encode(Integer id) {
+        if (id == null) {
+            return null;
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new SnsApplicationException(ErrorCode.INVALID_CURSOR, String.format("%s is invalid", cursor));
+        }
+    }
+
+    // cursor 로 조회하는 목록의 size 는 Pageable 을 거치지 않으므로 직접 범위를 확인한다.
+    public static int checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new SnsApplicationException(ErrorCode.INVALID_PAGE_SIZE, String.format("size must be between 1 and %d", MAX_SIZE));
+        }
+
+        return size;
+    }
+
+}
@@ -1,46 +1,121 @@
 package com.fastcampus.sns.util;
 
+import com.fastcampus.sns.model.User;
+import com.fastcampus.sns.model.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 
+@Component
 public class JwtTokenUtils {
 
-    public static String getUserName(String token, String key) {
-        return extractClaims(token, key).get("userName", String.class);
+    private static final String SCOPE_CLAIM = "scope";
+    private static final String ALARM_SUBSCRIBE_SCOPE = "alarm-subscribe";
+
+    private final Key key;
+    private final JwtParser parser;
+    private final long expiredTimeMs;
+    private final long subscribeExpiredTimeMs;
+    private final boolean selfContained;
+
+    public JwtTokenUtils(@Value("${jwt.secret-key}") String secretKey,
+                         @Value("${jwt.token.expired-time-ms}") long expiredTimeMs,
+                         @Value("${jwt.token.subscribe.expired-time-ms}") long subscribeExpiredTimeMs,
+                         @Value("${jwt.token.self-contained}") boolean selfContained) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.expiredTimeMs = expiredTimeMs;
+        this.subscribeExpiredTimeMs = subscribeExpiredTimeMs;
+        this.selfContained = selfContained;
+    }
+
+    public boolean isSelfContained() {
+        return selfContained;
+    }
+
+    public String getUserName(Claims claims) {
+        return claims.get("userName", String.class);
+    }
+
+    public boolean hasPrincipal(Claims claims) {
+        return claims.containsKey("id") && claims.containsKey("role") && claims.containsKey("version");
+    }
+
+    public Integer getVersion(Claims claims) {
+        return claims.get("version", Integer.class);
+    }
+
+    // password 와 timestamp 는 토큰에 담지 않는다.
+    public User getUser(Claims claims) {
+        return new User(
+                claims.get("id", Integer.class),
+                getUserName(claims),
+                null,
+                UserRole.valueOf(claims.get("role", String.class)),
+                null,
+                null,
+                null
+        );
+    }
+
+    public boolean isSubscribeToken(Claims claims) {
+        return ALARM_SUBSCRIBE_SCOPE.equals(claims.get(SCOPE_CLAIM, String.class));
     }
 
-    public static boolean isExpired(String token, String key) {
-        final Date expiredDate = extractClaims(token, key).getExpiration();
+    public boolean isExpired(Claims claims) {
+        final Date expiredDate = claims.getExpiration();
 
         return expiredDate.before(new Date());
     }
 
-    private static Claims extractClaims(String token, String key) {
-        return Jwts.parserBuilder().setSigningKey(getKey(key))
-                .build().parseClaimsJws(token).getBody();
+    public Claims extractClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public static String generateToken(String userName, String key, long expiredTokenMs) {
+    public String generateToken(String userName) {
         Claims claims = Jwts.claims();
         claims.put("userName", userName);
 
+        return generateToken(claims, expiredTimeMs);
+    }
+
+    // EventSource 는 header 를 보낼 수 없어 URL 에 토큰을 담으므로, 알람 구독에만 쓸 수 있고 금방 만료되는 토큰을 따로 발급한다.
+    public String generateSubscribeToken(String userName) {
+        Claims claims = Jwts.claims();
+        claims.put("userName", userName);
+        claims.put(SCOPE_CLAIM, ALARM_SUBSCRIBE_SCOPE);
+
+        return generateToken(claims, subscribeExpiredTimeMs);
+    }
+
+    public String generateToken(User user, Integer version) {
+        Claims claims = Jwts.claims();
+        claims.put("userName", user.getUsername());
+        claims.put("id", user.getId());
+        claims.put("role", user.getUserRole().name());
+        claims.put("version", version);
+
+        return generateToken(claims, expiredTimeMs);
+    }
+
+    private String generateToken(Claims claims, long lifetimeMs) {
+        final long now = System.currentTimeMillis();
+
+        // JwtBuilder 는 thread-safe 하지 않으므로 매번 생성하고, 서명 키만 재사용한다.
         return Jwts.builder()
                 .setClaims(claims)
-                .setIssuedAt(new Date((System.currentTimeMillis())))
-                .setExpiration(new Date(System.currentTimeMillis() + expiredTokenMs))
-                .signWith(getKey(key), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + lifetimeMs))
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private static Key getKey(String key) {
-        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
 }
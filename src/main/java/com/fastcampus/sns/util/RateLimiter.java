@@ -0,0 +1,40 @@
+package com.fastcampus.sns.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+// key 마다 TokenBucket 을 둔다. 한동안 요청이 없던 key 의 bucket 은 가득 찬 상태와 같으므로 지운다.
+public class RateLimiter<K> {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final Cache<K, TokenBucket> buckets;
+
+    public RateLimiter(long permitsPerPeriod, Duration period, long burst, long maximumSize) {
+        this.emissionIntervalNanos = TokenBucket.emissionInterval(permitsPerPeriod, period, burst);
+        this.toleranceNanos = TokenBucket.tolerance(permitsPerPeriod, period, burst);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos + toleranceNanos))
+                // 만료 정리를 commonPool 에 넘기지 않고 요청 thread 에서 바로 처리한다.
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public boolean tryAcquire(K key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    boolean tryAcquire(K key, long now) {
+        // 대부분은 이미 있는 bucket 이므로 loader lambda 를 만들지 않고 먼저 조회한다.
+        TokenBucket bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.get(key, it -> new TokenBucket(emissionIntervalNanos, toleranceNanos, now));
+        }
+
+        return bucket.tryAcquire(now);
+    }
+
+}
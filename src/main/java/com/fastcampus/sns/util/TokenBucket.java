@@ -0,0 +1,58 @@
+package com.fastcampus.sns.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// token bucket 을 GCRA 로 계산한다. token 수 대신 다음 요청이 허용되는 시각 하나만 보관하므로 CAS 한번으로 갱신된다.
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long permitsPerPeriod, Duration period, long burst) {
+        this(emissionInterval(permitsPerPeriod, period, burst), tolerance(permitsPerPeriod, period, burst), System.nanoTime());
+    }
+
+    TokenBucket(long emissionIntervalNanos, long toleranceNanos, long now) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.toleranceNanos = toleranceNanos;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    boolean tryAcquire(long now) {
+        while (true) {
+            final long current = theoreticalArrival.get();
+            final long arrival = current - now > 0 ? current : now;
+            if (arrival - now > toleranceNanos) {
+                return false;
+            }
+
+            if (theoreticalArrival.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    static long emissionInterval(long permitsPerPeriod, Duration period, long burst) {
+        if (permitsPerPeriod <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerPeriod and burst must be positive");
+        }
+
+        final long emissionIntervalNanos = period.toNanos() / permitsPerPeriod;
+        if (emissionIntervalNanos <= 0) {
+            throw new IllegalArgumentException(String.format("%d permits per %s is too high", permitsPerPeriod, period));
+        }
+
+        return emissionIntervalNanos;
+    }
+
+    static long tolerance(long permitsPerPeriod, Duration period, long burst) {
+        return emissionInterval(permitsPerPeriod, period, burst) * (burst - 1);
+    }
+
+}
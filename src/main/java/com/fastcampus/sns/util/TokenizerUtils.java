@@ -0,0 +1,80 @@
+package com.fastcampus.sns.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+public class TokenizerUtils {
+
+    // 이보다 긴 토큰은 검색어로 쓰일 일이 없으므로 색인하지 않는다.
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final int MAX_TAG_LENGTH = 100;
+
+    // 글자와 숫자가 이어진 구간을 소문자 토큰으로 나눈다.
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        final List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            final boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start <= MAX_TOKEN_LENGTH) {
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+
+        return tokens;
+    }
+
+    // 대소문자만 다른 hashtag 는 같은 hashtag 로 센다.
+    public static Set<String> extractHashtags(String text) {
+        return extract(text, '#', true);
+    }
+
+    public static Set<String> extractMentions(String text) {
+        return extract(text, '@', false);
+    }
+
+    // 단어 중간의 prefix(예: 이메일의 @) 는 무시한다.
+    private static Set<String> extract(String text, char prefix, boolean lowerCase) {
+        if (text == null || text.isEmpty()) {
+            return Set.of();
+        }
+
+        final Set<String> tags = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) != prefix || (i > 0 && isTagChar(text.charAt(i - 1)))) {
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < text.length() && isTagChar(text.charAt(end))) {
+                end++;
+            }
+
+            final int length = end - i - 1;
+            if (length > 0 && length <= MAX_TAG_LENGTH) {
+                final String tag = text.substring(i + 1, end);
+                tags.add(lowerCase ? tag.toLowerCase(Locale.ROOT) : tag);
+            }
+            i = end - 1;
+        }
+
+        return tags;
+    }
+
+    private static boolean isTagChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+}
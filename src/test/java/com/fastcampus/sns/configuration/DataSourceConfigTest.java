@@ -0,0 +1,182 @@
+package com.fastcampus.sns.configuration;
+
+import com.fastcampus.sns.configuration.datasource.ReplicaLagChecker;
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import com.fastcampus.sns.repository.LikeEntityRepository;
+import com.fastcampus.sns.repository.PostEntityRepository;
+import com.fastcampus.sns.repository.UserEntityRepository;
+import com.fastcampus.sns.service.PostService;
+import com.fastcampus.sns.service.UserService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+// primary 와 replica 로 서로 다른 내장 H2 를 띄우고, 각 DB 의 marker 로 어느 쪽에서 읽었는지 확인한다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + DataSourceConfigTest.PRIMARY_URL,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.replica.url=" + DataSourceConfigTest.REPLICA_URL,
+        "spring.datasource.replica.lag.query=SELECT seconds FROM replica_lag",
+        "spring.datasource.replica.lag.column=seconds"
+})
+public class DataSourceConfigTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaLagChecker replicaLagChecker;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private LikeEntityRepository likeEntityRepository;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.execute("DROP ALL OBJECTS");
+
+        final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+        primary.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(10))");
+        primary.execute("DELETE FROM marker");
+        primary.execute("INSERT INTO marker VALUES ('primary')");
+
+        replica.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(10))");
+        replica.execute("DELETE FROM marker");
+        replica.execute("INSERT INTO marker VALUES ('replica')");
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds BIGINT)");
+        replica.execute("DELETE FROM replica_lag");
+        replica.execute("INSERT INTO replica_lag VALUES (0)");
+
+        replicaLagChecker.check();
+    }
+
+    @Test
+    public void readOnly_트랜잭션은_replica_에서_읽는다() throws Exception {
+        Assertions.assertEquals("replica", readMarker(true));
+        Assertions.assertEquals("replica", readMarkerWithJdbc(true));
+    }
+
+    @Test
+    public void readOnly_가_아닌_트랜잭션은_primary_에서_읽는다() throws Exception {
+        Assertions.assertEquals("primary", readMarker(false));
+        Assertions.assertEquals("primary", readMarkerWithJdbc(false));
+    }
+
+    @Test
+    public void replica_lag_이_크면_primary_에서_읽는다() throws Exception {
+        replica.update("UPDATE replica_lag SET seconds = 100");
+        replicaLagChecker.check();
+
+        Assertions.assertFalse(replicaLagChecker.isAvailable());
+        Assertions.assertEquals("primary", readMarker(true));
+    }
+
+    @Test
+    public void replica_lag_을_조회할_수_없으면_primary_에서_읽는다() throws Exception {
+        replica.execute("DROP TABLE replica_lag");
+        replicaLagChecker.check();
+
+        Assertions.assertFalse(replicaLagChecker.isAvailable());
+        Assertions.assertEquals("primary", readMarker(true));
+    }
+
+    // replica 에는 테이블이 없으므로 replica 에서 읽으면 실패한다.
+    @Test
+    public void 가입_직후_로그인은_primary_에서_읽는다() throws Exception {
+        userService.join("routing_login", "password");
+
+        Assertions.assertDoesNotThrow(() -> userService.login("routing_login", "password", "127.0.0.1"));
+    }
+
+    @Test
+    public void 캐시에_올리는_post_와_좋아요_확인은_primary_에서_읽는다() throws Exception {
+        final UserEntity userEntity = userEntityRepository.save(UserEntity.of("routing_post", "password"));
+        final PostEntity postEntity = postEntityRepository.save(PostEntity.of("title", "body", userEntity));
+
+        Assertions.assertEquals("title", postService.get(postEntity.getId()).getTitle());
+        Assertions.assertFalse(likeEntityRepository.existsByUserIdAndPostId(userEntity.getId(), postEntity.getId()));
+        Assertions.assertEquals(0, likeEntityRepository.countByPostId(postEntity.getId()));
+    }
+
+    // replica 에 schema 만 있고 row 는 없으므로, replica 에서 읽은 목록은 비어 있다.
+    @Test
+    public void 목록의_id_와_유저_조회는_replica_에서_읽는다() throws Exception {
+        final UserEntity userEntity = userEntityRepository.save(UserEntity.of("routing_list", "password"));
+        final PostEntity postEntity = postEntityRepository.save(PostEntity.of("title", "body", userEntity));
+        copySchemaToReplica();
+
+        Assertions.assertEquals(0, postService.list(PageRequest.of(0, 10)).getTotalElements());
+        Assertions.assertEquals(0, postService.myList(userEntity.getId(), PageRequest.of(0, 10)).getTotalElements());
+        Assertions.assertTrue(postService.scroll(null, 10).getContent().isEmpty());
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> userService.loadUserByUserName("routing_list"));
+        Assertions.assertEquals(ErrorCode.USER_NOT_FOUND, e.getErrorCode());
+
+        // 캐시에 올리는 post 는 여전히 primary 에서 읽는다.
+        Assertions.assertEquals("title", postService.get(postEntity.getId()).getTitle());
+    }
+
+    private void copySchemaToReplica() {
+        final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+        replica.execute("DROP ALL OBJECTS");
+        primary.queryForList("SCRIPT NODATA", String.class).forEach(replica::execute);
+
+        replica.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+        replica.execute("INSERT INTO replica_lag VALUES (0)");
+        replicaLagChecker.check();
+    }
+
+    private String readMarker(boolean readOnly) {
+        return transactionTemplate(readOnly).execute(status -> (String) entityManager.createNativeQuery("SELECT name FROM marker").getSingleResult());
+    }
+
+    private String readMarkerWithJdbc(boolean readOnly) {
+        return transactionTemplate(readOnly).execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private TransactionTemplate transactionTemplate(boolean readOnly) {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate;
+    }
+
+}
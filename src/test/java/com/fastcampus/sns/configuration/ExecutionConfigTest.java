@@ -0,0 +1,48 @@
+package com.fastcampus.sns.configuration;
+
+import com.fastcampus.sns.configuration.datasource.BoundedDataSource;
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "execution.virtual-threads.enabled=true")
+public class ExecutionConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VirtualThreadTomcatCustomizer virtualThreadTomcatCustomizer;
+
+    @Test
+    public void dataSource_를_동시_사용_수로_제한한다() throws Exception {
+        Assertions.assertTrue(dataSource instanceof BoundedDataSource);
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+    }
+
+    @Test
+    public void virtual_thread_를_지원하는_JVM_에서만_Tomcat_executor_를_바꾼다() throws Exception {
+        final ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+        final boolean supported = Runtime.version().feature() >= 21;
+
+        virtualThreadTomcatCustomizer.customize(protocolHandler);
+
+        Assertions.assertEquals(supported, virtualThreadTomcatCustomizer.isAvailable());
+        verify(protocolHandler, supported ? times(1) : never()).setExecutor(any());
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.fastcampus.sns.configuration;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import com.fastcampus.sns.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.LocalManagementPort;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    public void service_호출_시간을_예외별로_기록한다() throws Exception {
+        // when
+        Assertions.assertThrows(SnsApplicationException.class, () -> userService.loadUserByUserName("notExistUserName"));
+
+        //then
+        Assertions.assertEquals(1, meterRegistry.get("sns.service")
+                .tag("class", "UserService")
+                .tag("method", "loadUserByUserName")
+                .tag("exception", ErrorCode.USER_NOT_FOUND.name())
+                .timer().count());
+        Assertions.assertTrue(meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "UserEntityRepository")
+                .timer().count() > 0);
+    }
+
+    @Test
+    public void 인증_실패_사유를_기록한다() throws Exception {
+        // when
+        mockMvc.perform(get("/api/v1/users/alarm").header("Authorization", "Bearer invalid"));
+
+        //then
+        Assertions.assertEquals(1, meterRegistry.get("sns.auth.failures").tag("reason", "MalformedJwtException").counter().count());
+    }
+
+    @Test
+    public void prometheus_로_pool_과_캐시_지표를_노출한다() throws Exception {
+        final String body = restTemplate.getForObject("http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        Assertions.assertTrue(body.contains("hikaricp_connections_pending"));
+        Assertions.assertTrue(body.contains("hikaricp_connections_usage_seconds"));
+        Assertions.assertTrue(body.contains("cache_gets_total{application=\"sns\",cache=\"user\",result=\"hit\",}"));
+        Assertions.assertTrue(body.contains("sns_alarm_queue_size"));
+        Assertions.assertTrue(body.contains("sns_auth_token_parse_seconds"));
+    }
+
+    @Test
+    public void 서비스_port_에서는_actuator_를_노출하지_않는다() throws Exception {
+        final ResponseEntity<String> response = restTemplate.getForEntity("http://localhost:" + serverPort + "/actuator/prometheus", String.class);
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+}
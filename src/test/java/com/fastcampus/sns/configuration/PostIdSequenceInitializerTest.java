@@ -0,0 +1,78 @@
+package com.fastcampus.sns.configuration;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQL57Dialect;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class PostIdSequenceInitializerTest {
+
+    @Test
+    public void 기존_post_가_있으면_sequence_를_그_뒤로_옮긴다() throws Exception {
+        // given
+        final JdbcTemplate jdbcTemplate = jdbcTemplate("jdbc:h2:mem:post_id_sequence");
+        jdbcTemplate.execute("CREATE SEQUENCE post_id_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.update("INSERT INTO post (id) VALUES (1000)");
+
+        // when
+        new PostIdSequenceInitializer(jdbcTemplate, new H2Dialect()).initialize();
+
+        //then
+        // hibernate 는 읽은 값 앞의 50 개를 쓴다.
+        final long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR post_id_seq", Long.class);
+        Assertions.assertEquals(1001, next - 49);
+    }
+
+    @Test
+    public void 이미_sequence_가_앞서_있으면_옮기지_않는다() throws Exception {
+        // given
+        final JdbcTemplate jdbcTemplate = jdbcTemplate("jdbc:h2:mem:post_id_sequence_ahead");
+        jdbcTemplate.execute("CREATE SEQUENCE post_id_seq START WITH 5001 INCREMENT BY 50");
+        jdbcTemplate.update("INSERT INTO post (id) VALUES (1000)");
+
+        // when
+        new PostIdSequenceInitializer(jdbcTemplate, new H2Dialect()).initialize();
+
+        //then
+        Assertions.assertEquals(5051, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR post_id_seq", Long.class));
+    }
+
+    @Test
+    public void sequence_를_table_로_흉내_내는_경우_next_val_을_옮긴다() throws Exception {
+        // given
+        final JdbcTemplate jdbcTemplate = jdbcTemplate("jdbc:h2:mem:post_id_sequence_table;MODE=MySQL");
+        jdbcTemplate.execute("CREATE TABLE post_id_seq (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO post_id_seq (next_val) VALUES (1)");
+        jdbcTemplate.update("INSERT INTO post (id) VALUES (1000)");
+
+        // when
+        new PostIdSequenceInitializer(jdbcTemplate, new MySQL57Dialect()).initialize();
+
+        //then
+        Assertions.assertEquals(1050, jdbcTemplate.queryForObject("SELECT next_val FROM post_id_seq", Long.class));
+    }
+
+    @Test
+    public void post_가_없으면_sequence_를_그대로_둔다() throws Exception {
+        // given
+        final JdbcTemplate jdbcTemplate = jdbcTemplate("jdbc:h2:mem:post_id_sequence_empty;MODE=MySQL");
+        jdbcTemplate.execute("CREATE TABLE post_id_seq (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO post_id_seq (next_val) VALUES (1)");
+
+        // when
+        new PostIdSequenceInitializer(jdbcTemplate, new MySQL57Dialect()).initialize();
+
+        //then
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT next_val FROM post_id_seq", Long.class));
+    }
+
+    private static JdbcTemplate jdbcTemplate(String url) {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE post (id INT PRIMARY KEY)");
+
+        return jdbcTemplate;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.fastcampus.sns.configuration.datasource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+public class BoundedDataSourceTest {
+
+    private final BoundedDataSource dataSource = new BoundedDataSource(new DriverManagerDataSource("jdbc:h2:mem:bounded", "sa", ""), 1, 50);
+
+    @Test
+    public void 동시에_사용하는_connection_이_최대치면_timeout_후_실패한다() throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            Assertions.assertEquals(0, dataSource.availablePermits());
+            Assertions.assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            Assertions.assertTrue(connection.isValid(1));
+        }
+    }
+
+    @Test
+    public void connection_을_여러번_close_해도_permit_은_한번만_반납한다() throws Exception {
+        final Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        Assertions.assertEquals(1, dataSource.availablePermits());
+    }
+
+}
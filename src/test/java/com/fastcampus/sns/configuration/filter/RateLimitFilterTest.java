@@ -0,0 +1,90 @@
+package com.fastcampus.sns.configuration.filter;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.ErrorResponseBody;
+import com.fastcampus.sns.model.User;
+import com.fastcampus.sns.model.UserRole;
+import com.fastcampus.sns.repository.RateLimitRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class RateLimitFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // user, ip 모두 burst 2, 전체 burst 100
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimitRepository(100, 1, 2, 1, 2, 100, 100), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void 로그인하지_않은_요청은_ip_별로_제한한다() throws Exception {
+        // given
+        doFilter("/api/v1/posts", "127.0.0.1");
+        doFilter("/api/v1/posts", "127.0.0.1");
+
+        // when
+        final MockHttpServletResponse limited = doFilter("/api/v1/posts", "127.0.0.1");
+        final MockHttpServletResponse otherIp = doFilter("/api/v1/posts", "127.0.0.2");
+
+        //then
+        Assertions.assertEquals(ErrorCode.RATE_LIMIT_EXCEEDED.getStatus().value(), limited.getStatus());
+        Assertions.assertArrayEquals(ErrorResponseBody.of(ErrorCode.RATE_LIMIT_EXCEEDED), limited.getContentAsByteArray());
+        Assertions.assertEquals(200, otherIp.getStatus());
+        Assertions.assertEquals(1, meterRegistry.get("sns.errors").tag("code", ErrorCode.RATE_LIMIT_EXCEEDED.name()).counter().count());
+    }
+
+    @Test
+    public void 로그인한_요청은_user_id_별로_제한한다() throws Exception {
+        // given
+        final User user = new User(1, "userName", "password", UserRole.USER, null, null, null);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        doFilter("/api/v1/posts", "127.0.0.1");
+        doFilter("/api/v1/posts", "127.0.0.2");
+
+        // when
+        final MockHttpServletResponse limited = doFilter("/api/v1/posts", "127.0.0.3");
+        SecurityContextHolder.clearContext();
+        final MockHttpServletResponse anonymous = doFilter("/api/v1/posts", "127.0.0.1");
+
+        //then
+        Assertions.assertEquals(ErrorCode.RATE_LIMIT_EXCEEDED.getStatus().value(), limited.getStatus());
+        Assertions.assertEquals(200, anonymous.getStatus());
+    }
+
+    @Test
+    public void api_가_아닌_요청은_제한하지_않는다() throws Exception {
+        // given
+        for (int i = 0; i < 5; i++) {
+            doFilter("/index.html", "127.0.0.1");
+        }
+
+        // when
+        final MockHttpServletResponse response = doFilter("/index.html", "127.0.0.1");
+
+        //then
+        Assertions.assertEquals(200, response.getStatus());
+    }
+
+    private MockHttpServletResponse doFilter(String uri, String remoteAddr) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        return response;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.fastcampus.sns.controller;
+
+import com.fastcampus.sns.fixture.WithMockCustomUser;
+import com.fastcampus.sns.model.TrendingHashtag;
+import com.fastcampus.sns.service.HashtagService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class HashtagControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HashtagService hashtagService;
+
+    @Test
+    @WithMockCustomUser
+    public void 트렌딩_hashtag_조회() throws Exception {
+        when(hashtagService.trending(5)).thenReturn(List.of(new TrendingHashtag("spring", 3)));
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/hashtags/trending")
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.result[0].tag").value("spring"))
+                .andExpect(jsonPath("$.result[0].count").value(3));
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 트렌딩_hashtag_조회_시_로그인_하지_않은_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(get("/api/v1/hashtags/trending")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isUnauthorized());
+    }
+
+}
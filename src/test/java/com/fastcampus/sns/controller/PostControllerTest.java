@@ -1,32 +1,51 @@
 package com.fastcampus.sns.controller;
 
+import com.fastcampus.sns.controller.request.CommentCreateRequest;
+import com.fastcampus.sns.controller.request.PostBulkCreateRequest;
 import com.fastcampus.sns.controller.request.PostCreateRequest;
 import com.fastcampus.sns.controller.request.PostModifyRequest;
 import com.fastcampus.sns.controller.request.UserJoinRequest;
 import com.fastcampus.sns.exception.ErrorCode;
 import com.fastcampus.sns.exception.SnsApplicationException;
 import com.fastcampus.sns.fixture.PostEntityFixture;
+import com.fastcampus.sns.fixture.WithMockCustomUser;
 import com.fastcampus.sns.model.Post;
+import com.fastcampus.sns.model.UserRole;
+import com.fastcampus.sns.service.CommentService;
+import com.fastcampus.sns.service.LikeService;
 import com.fastcampus.sns.service.PostService;
+import com.fastcampus.sns.util.CursorUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
-import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -42,8 +61,14 @@ public class PostControllerTest {
     @MockBean
     private PostService postService;
 
+    @MockBean
+    private LikeService likeService;
+
+    @MockBean
+    private CommentService commentService;
+
     @Test
-    @WithMockUser
+    @WithMockCustomUser
     public void 포스트_작성() throws Exception {
         // given
         String title = "title";
@@ -77,7 +102,7 @@ public class PostControllerTest {
     }
 
     @Test
-    @WithMockUser
+    @WithMockCustomUser
     public void 포스트_수정() throws Exception {
         // given
         String title = "title";
@@ -94,6 +119,7 @@ public class PostControllerTest {
 
         //then
         result.andExpect(status().isOk());
+        verify(postService).modify(title, body, 1, 1);
     }
 
     @Test
@@ -114,7 +140,7 @@ public class PostControllerTest {
     }
 
     @Test
-    @WithMockUser
+    @WithMockCustomUser
     public void 포스트_수정_시_본인이_작성한_글이_아니라면_에러_발생() throws Exception {
         // given
         String title = "title";
@@ -133,7 +159,7 @@ public class PostControllerTest {
     }
 
     @Test
-    @WithMockUser
+    @WithMockCustomUser
     public void 포스트_수정_시_수정하려는_글이_없는_경우_에러_발생() throws Exception {
         // given
         String title = "title";
@@ -152,7 +178,7 @@ public class PostControllerTest {
     }
 
     @Test
-    @WithMockUser
+    @WithMockCustomUser
     public void 포스트_삭제() throws Exception {
         final ResultActions result = mockMvc.perform(delete("/api/v1/posts/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -160,6 +186,7 @@ public class PostControllerTest {
                 .andDo(print());
 
         result.andExpect(status().isOk());
+        verify(postService).delete(1, 1);
     }
 
     @Test
@@ -174,7 +201,7 @@ public class PostControllerTest {
     }
 
     @Test
-    @WithMockUser
+    @WithMockCustomUser
     public void 포스트_삭제_시_작성자와_삭제_요청자_다른_경우() throws Exception {
         doThrow(new SnsApplicationException(ErrorCode.INVALID_PERMISSION)).when(postService).delete(any(), any()) ;
         final ResultActions result = mockMvc.perform(delete("/api/v1/posts/1")
@@ -186,7 +213,7 @@ public class PostControllerTest {
     }
 
     @Test
-    @WithMockUser
+    @WithMockCustomUser
     public void 포스트_삭제_시_삭제하려는_포스트가_존재하지_않을_경우() throws Exception {
         doThrow(new SnsApplicationException(ErrorCode.POST_NOT_FOUND)).when(postService).delete(any(), any()) ;
         final ResultActions result = mockMvc.perform(delete("/api/v1/posts/1")
@@ -198,7 +225,7 @@ public class PostControllerTest {
     }
 
     @Test
-    @WithMockUser
+    @WithMockCustomUser
     public void 피드_목록() throws Exception {
         when(postService.list(any())).thenReturn(Page.empty());
 
@@ -224,7 +251,63 @@ public class PostControllerTest {
     }
 
     @Test
-    @WithMockUser
+    @WithMockCustomUser
+    public void 피드_스크롤() throws Exception {
+        when(postService.scroll(any(), anyInt())).thenReturn(new SliceImpl<>(List.of()));
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/scroll")
+                        .param("cursor", CursorUtils.encode(10))
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk());
+        verify(postService).scroll(10, 5);
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 피드_스크롤_시_cursor_가_잘못된_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/scroll")
+                        .param("cursor", "%%%")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 피드_스크롤_시_size_가_범위를_벗어난_경우() throws Exception {
+        for (String size : List.of("0", "-1", String.valueOf(CursorUtils.MAX_SIZE + 1))) {
+            final ResultActions result = mockMvc.perform(get("/api/v1/posts/scroll")
+                            .param("size", size)
+                            .contentType(MediaType.APPLICATION_JSON)
+                    )
+                    .andDo(print());
+
+            result.andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.resultCode").value(ErrorCode.INVALID_PAGE_SIZE.name()));
+        }
+
+        verify(postService, never()).scroll(any(), anyInt());
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 피드_스크롤_요청_시_로그인_하지_않은_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/scroll")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser
     public void 내_피드_목록() throws Exception {
         when(postService.myList(any(), any())).thenReturn(Page.empty());
 
@@ -249,4 +332,364 @@ public class PostControllerTest {
         result.andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockCustomUser
+    public void 좋아요() throws Exception {
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/1/likes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk());
+        verify(likeService).like(1, 1);
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 좋아요_시_로그인_하지_않은_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/1/likes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 좋아요_시_이미_좋아요를_누른_경우() throws Exception {
+        doThrow(new SnsApplicationException(ErrorCode.ALREADY_LIKED)).when(likeService).like(any(), any());
+
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/1/likes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 좋아요_수_조회() throws Exception {
+        when(likeService.count(1)).thenReturn(3L);
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/1/likes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(3));
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 좋아요_수_조회_시_포스트가_존재하지_않는_경우() throws Exception {
+        doThrow(new SnsApplicationException(ErrorCode.POST_NOT_FOUND)).when(likeService).count(1);
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/1/likes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 댓글_작성() throws Exception {
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new CommentCreateRequest("comment")))
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk());
+        verify(commentService).create(1, 1, "comment");
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 댓글_작성_시_로그인_하지_않은_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new CommentCreateRequest("comment")))
+                )
+                .andDo(print());
+
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 댓글_작성_시_포스트가_존재하지_않는_경우() throws Exception {
+        doThrow(new SnsApplicationException(ErrorCode.POST_NOT_FOUND)).when(commentService).create(any(), any(), any());
+
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new CommentCreateRequest("comment")))
+                )
+                .andDo(print());
+
+        result.andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 댓글_목록() throws Exception {
+        when(commentService.list(any(), any(), anyInt())).thenReturn(new SliceImpl<>(List.of()));
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/1/comments")
+                        .param("cursor", CursorUtils.encode(10))
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk());
+        verify(commentService).list(1, 10, 5);
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 댓글_목록_조회_시_로그인_하지_않은_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 타임라인() throws Exception {
+        when(postService.timeline(any(), any(), anyInt())).thenReturn(new SliceImpl<>(List.of()));
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/timeline")
+                        .param("cursor", CursorUtils.encode(10))
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk());
+        verify(postService).timeline(1, 10, 5);
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 타임라인_조회_시_로그인_하지_않은_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/timeline")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 포스트_조회() throws Exception {
+        when(postService.get(1)).thenReturn(Post.fromEntity(PostEntityFixture.get("userName", 1, 1)));
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.id").value(1));
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 포스트_조회_시_포스트가_존재하지_않는_경우() throws Exception {
+        when(postService.get(1)).thenThrow(new SnsApplicationException(ErrorCode.POST_NOT_FOUND));
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 포스트_검색() throws Exception {
+        when(postService.search(eq("java"), any())).thenReturn(Page.empty());
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/search")
+                        .param("q", "java")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk());
+        verify(postService).search(eq("java"), any());
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 포스트_검색_시_로그인_하지_않은_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/search")
+                        .param("q", "java")
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print());
+
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser(role = UserRole.ADMIN)
+    public void 포스트_대량_작성() throws Exception {
+        when(postService.bulkCreate(any(), any())).thenReturn(2);
+
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new PostBulkCreateRequest(List.of(new PostCreateRequest("title1", "body1"), new PostCreateRequest("title2", "body2"))))))
+                .andDo(print());
+
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(2));
+    }
+
+    @Test
+    @WithMockCustomUser(role = UserRole.ADMIN)
+    public void 포스트_대량_작성_시_post_수가_잘못된_경우() throws Exception {
+        doThrow(new SnsApplicationException(ErrorCode.INVALID_BULK_SIZE)).when(postService).bulkCreate(any(), any());
+
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new PostBulkCreateRequest(List.of()))))
+                .andDo(print());
+
+        result.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 포스트_대량_작성_시_ADMIN_이_아닌_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new PostBulkCreateRequest(List.of(new PostCreateRequest("title1", "body1"))))))
+                .andDo(print());
+
+        result.andExpect(status().is(ErrorCode.INVALID_PERMISSION.getStatus().value()));
+        verify(postService, never()).bulkCreate(any(), any());
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 포스트_대량_작성_시_로그인_하지_않은_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(post("/api/v1/posts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new PostBulkCreateRequest(List.of()))))
+                .andDo(print());
+
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 피드_stream() throws Exception {
+        doAnswer(invocation -> {
+            final Consumer<Post> consumer = invocation.getArgument(2);
+            consumer.accept(Post.fromEntity(PostEntityFixture.get("userName", 12, 1)));
+            consumer.accept(Post.fromEntity(PostEntityFixture.get("userName", 11, 1)));
+            return true;
+        }).when(postService).stream(eq(20), eq(2), any());
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/stream")
+                        .param("cursor", CursorUtils.encode(20))
+                        .param("size", "2")
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("SUCCESS"))
+                .andExpect(jsonPath("$.result.content.length()").value(2))
+                .andExpect(jsonPath("$.result.content[0].id").value(12))
+                .andExpect(jsonPath("$.result.content[0].user.userName").value("userName"))
+                .andExpect(jsonPath("$.result.nextCursor").value(CursorUtils.encode(11)))
+                .andExpect(jsonPath("$.result.hasNext").value(true));
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 피드_stream_시_시간은_ObjectMapper_와_같은_형식으로_쓴다() throws Exception {
+        final Timestamp registeredAt = Timestamp.from(Instant.parse("2024-01-02T03:04:05.678Z"));
+        final Post post = Post.fromEntity(PostEntityFixture.get("userName", 12, 1));
+        doAnswer(invocation -> {
+            final Consumer<Post> consumer = invocation.getArgument(2);
+            consumer.accept(new Post(post.getId(), post.getTitle(), post.getBody(), post.getUser(), registeredAt, registeredAt, null));
+            return false;
+        }).when(postService).stream(any(), eq(2), any());
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/stream")
+                        .param("size", "2")
+                )
+                .andDo(print());
+
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.content[0].registeredAt").value(objectMapper.valueToTree(registeredAt).asText()))
+                .andExpect(jsonPath("$.result.content[0].updatedAt").value(objectMapper.valueToTree(registeredAt).asText()))
+                .andExpect(jsonPath("$.result.content[0].deletedAt").doesNotExist());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 피드_stream_중에_실패하면_JSON_을_닫지_않는다() throws Exception {
+        doAnswer(invocation -> {
+            final Consumer<Post> consumer = invocation.getArgument(2);
+            consumer.accept(Post.fromEntity(PostEntityFixture.get("userName", 12, 1)));
+            throw new IllegalStateException("connection lost");
+        }).when(postService).stream(any(), eq(2), any());
+
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/stream")
+                        .param("size", "2")
+                )
+                .andDo(print());
+
+        // 닫히지 않은 JSON 을 받은 client 는 응답이 잘렸다는 것을 알 수 있다.
+        final String body = result.andReturn().getResponse().getContentAsString();
+        Assertions.assertTrue(body.endsWith("\"deletedAt\":null}"), body);
+        Assertions.assertThrows(JsonProcessingException.class, () -> objectMapper.readTree(body));
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 피드_stream_시_cursor_가_잘못된_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/stream")
+                        .param("cursor", "!!")
+                )
+                .andDo(print());
+
+        result.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 피드_stream_시_size_가_범위를_벗어난_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/stream")
+                        .param("size", String.valueOf(Integer.MAX_VALUE))
+                )
+                .andDo(print());
+
+        result.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value(ErrorCode.INVALID_PAGE_SIZE.name()));
+        verify(postService, never()).stream(any(), anyInt(), any());
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 피드_stream_요청_시_로그인_하지_않은_경우() throws Exception {
+        final ResultActions result = mockMvc.perform(get("/api/v1/posts/stream"))
+                .andDo(print());
+
+        result.andExpect(status().isUnauthorized());
+    }
+
 }
@@ -3,22 +3,43 @@ package com.fastcampus.sns.controller;
 import com.fastcampus.sns.controller.request.UserJoinRequest;
 import com.fastcampus.sns.controller.request.UserLoginRequest;
 import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.ErrorResponseBody;
 import com.fastcampus.sns.exception.SnsApplicationException;
+import com.fastcampus.sns.fixture.WithMockCustomUser;
 import com.fastcampus.sns.model.User;
+import com.fastcampus.sns.model.UserRole;
+import com.fastcampus.sns.service.AlarmService;
+import com.fastcampus.sns.service.FollowService;
 import com.fastcampus.sns.service.UserService;
+import com.fastcampus.sns.util.JwtTokenUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -31,9 +52,18 @@ public class UserControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtTokenUtils jwtTokenUtils;
+
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private AlarmService alarmService;
+
+    @MockBean
+    private FollowService followService;
+
     @Test
     public void 회원가입() throws Exception {
         // given
@@ -76,7 +106,7 @@ public class UserControllerTest {
         String password = "password";
 
         // when
-        when(userService.login(userName, password)).thenReturn("test_token");
+        when(userService.login(eq(userName), eq(password), any())).thenReturn("test_token");
 
         //then
         mockMvc.perform(post("/api/v1/users/login")
@@ -94,7 +124,7 @@ public class UserControllerTest {
         String password = "password";
 
         // when
-        when(userService.login(userName, password)).thenThrow(new SnsApplicationException(ErrorCode.USER_NOT_FOUND));
+        when(userService.login(eq(userName), eq(password), any())).thenThrow(new SnsApplicationException(ErrorCode.USER_NOT_FOUND));
 
         //then
         mockMvc.perform(post("/api/v1/users/login")
@@ -112,7 +142,7 @@ public class UserControllerTest {
         String password = "password";
 
         // when
-        when(userService.login(userName, password)).thenThrow(new SnsApplicationException(ErrorCode.INVALID_PASSWORD));
+        when(userService.login(eq(userName), eq(password), any())).thenThrow(new SnsApplicationException(ErrorCode.INVALID_PASSWORD));
 
         //then
         mockMvc.perform(post("/api/v1/users/login")
@@ -120,7 +150,139 @@ public class UserControllerTest {
                         // TODO : add request body
                         .content(objectMapper.writeValueAsBytes(new UserLoginRequest(userName, password))))
                 .andDo(print())
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.resultCode").value(ErrorCode.INVALID_PASSWORD.name()));
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 알람_목록() throws Exception {
+        when(alarmService.list(any(), any())).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/v1/users/alarm")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        verify(alarmService).list(eq(1), any());
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 알람_목록_조회_시_로그인_하지_않은_경우() throws Exception {
+        mockMvc.perform(get("/api/v1/users/alarm")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().longValue("Content-Length", ErrorResponseBody.of(ErrorCode.INVALID_TOKEN).length))
+                .andExpect(jsonPath("$.resultCode").value(ErrorCode.INVALID_TOKEN.name()));
+    }
+
+    @Test
+    public void 알람_구독_시_query_string_의_구독_전용_token_으로_인증한다() throws Exception {
+        final User user = new User(1, "userName", "password", UserRole.USER, null, null, null);
+        when(userService.loadUserByUserName("userName")).thenReturn(user);
+        when(alarmService.subscribe(1)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/users/alarm/subscribe")
+                        .param("token", jwtTokenUtils.generateSubscribeToken("userName")))
+                .andDo(print())
+                .andExpect(request().asyncStarted());
+
+        verify(alarmService).subscribe(1);
+    }
+
+    @Test
+    public void 알람_구독_시_query_string_의_로그인_token_으로는_인증하지_않는다() throws Exception {
+        final User user = new User(1, "userName", "password", UserRole.USER, null, null, null);
+        when(userService.loadUserByUserName("userName")).thenReturn(user);
+
+        mockMvc.perform(get("/api/v1/users/alarm/subscribe")
+                        .param("token", jwtTokenUtils.generateToken("userName")))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+
+        verify(alarmService, never()).subscribe(any());
+    }
+
+    @Test
+    public void 알람_구독_외의_요청은_query_string_의_token_으로_인증하지_않는다() throws Exception {
+        final User user = new User(1, "userName", "password", UserRole.USER, null, null, null);
+        when(userService.loadUserByUserName("userName")).thenReturn(user);
+
+        mockMvc.perform(get("/api/v1/users/alarm")
+                        .param("token", jwtTokenUtils.generateSubscribeToken("userName")))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void 구독_전용_token_은_header_로_보내도_인증하지_않는다() throws Exception {
+        final User user = new User(1, "userName", "password", UserRole.USER, null, null, null);
+        when(userService.loadUserByUserName("userName")).thenReturn(user);
+
+        mockMvc.perform(get("/api/v1/users/alarm")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtTokenUtils.generateSubscribeToken("userName")))
+                .andDo(print())
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockCustomUser
+    public void 알람_구독_token_발급() throws Exception {
+        when(userService.issueSubscribeToken("userName")).thenReturn("subscribe_token");
+
+        mockMvc.perform(post("/api/v1/users/alarm/subscribe-token"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.token").value("subscribe_token"));
+    }
+
+    @Test
+    public void 알람_구독_시_로그인_하지_않은_경우() throws Exception {
+        mockMvc.perform(get("/api/v1/users/alarm/subscribe"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 팔로우() throws Exception {
+        mockMvc.perform(post("/api/v1/users/2/follow"))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        verify(followService).follow(1, 2);
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 팔로우_시_이미_팔로우_한_경우() throws Exception {
+        doThrow(new SnsApplicationException(ErrorCode.ALREADY_FOLLOWED)).when(followService).follow(1, 2);
+
+        mockMvc.perform(post("/api/v1/users/2/follow"))
+                .andDo(print())
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void 팔로우_시_로그인_하지_않은_경우() throws Exception {
+        mockMvc.perform(post("/api/v1/users/2/follow"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser
+    public void 언팔로우() throws Exception {
+        mockMvc.perform(delete("/api/v1/users/2/follow"))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        verify(followService).unfollow(1, 2);
+    }
+
 }
@@ -0,0 +1,45 @@
+package com.fastcampus.sns.exception;
+
+import com.fastcampus.sns.controller.response.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ErrorResponseBodyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void 모든_ErrorCode_의_body_는_Response_error_직렬화_결과와_같다() throws Exception {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            Assertions.assertArrayEquals(
+                    objectMapper.writeValueAsBytes(Response.error(errorCode.name())),
+                    ErrorResponseBody.of(errorCode)
+            );
+        }
+    }
+
+    @Test
+    void body_는_한번만_만들어_재사용한다() {
+        Assertions.assertSame(ErrorResponseBody.of(ErrorCode.INVALID_TOKEN), ErrorResponseBody.of(ErrorCode.INVALID_TOKEN));
+    }
+
+    @Test
+    void 인증_실패_시_미리_만든_body_를_그대로_쓴다() throws Exception {
+        // given
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final byte[] body = ErrorResponseBody.of(ErrorCode.INVALID_TOKEN);
+
+        // when
+        new CustomAuthenticationEntryPoint().commence(null, response, null);
+
+        //then
+        Assertions.assertEquals(ErrorCode.INVALID_TOKEN.getStatus().value(), response.getStatus());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        Assertions.assertEquals(body.length, response.getContentLength());
+        Assertions.assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+}
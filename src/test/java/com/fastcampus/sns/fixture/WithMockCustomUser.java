@@ -0,0 +1,19 @@
+package com.fastcampus.sns.fixture;
+
+import com.fastcampus.sns.model.UserRole;
+import org.springframework.security.test.context.support.WithSecurityContext;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+@WithSecurityContext(factory = WithMockCustomUserSecurityContextFactory.class)
+public @interface WithMockCustomUser {
+
+    int id() default 1;
+
+    String userName() default "userName";
+
+    UserRole role() default UserRole.USER;
+
+}
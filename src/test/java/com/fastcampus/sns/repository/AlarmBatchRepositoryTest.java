@@ -0,0 +1,53 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.Alarm;
+import com.fastcampus.sns.model.AlarmEvent;
+import com.fastcampus.sns.model.AlarmType;
+import com.fastcampus.sns.model.entity.UserEntity;
+import com.fastcampus.sns.service.AlarmService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DataJpaTest(properties = {"spring.jpa.database=h2", "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"})
+@Import({AlarmBatchRepository.class, EmitterRepository.class, AlarmService.class})
+public class AlarmBatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AlarmBatchRepository alarmBatchRepository;
+
+    @Autowired
+    private AlarmService alarmService;
+
+    @Test
+    public void 알람을_batch_로_저장하고_유저별로_조회한다() throws Exception {
+        final UserEntity receiver = entityManager.persist(UserEntity.of("receiver", "password"));
+        final UserEntity other = entityManager.persist(UserEntity.of("other", "password"));
+        entityManager.flush();
+
+        alarmBatchRepository.saveAll(List.of(
+                AlarmEvent.of(receiver.getId(), AlarmType.NEW_COMMENT_ON_POST, other.getId(), 1),
+                AlarmEvent.of(other.getId(), AlarmType.NEW_LIKE_ON_POST, receiver.getId(), 2),
+                AlarmEvent.of(receiver.getId(), AlarmType.NEW_LIKE_ON_POST, other.getId(), 3)
+        ));
+
+        final List<Alarm> alarms = alarmService.list(receiver.getId(), PageRequest.of(0, 10, Sort.by("id"))).getContent();
+
+        Assertions.assertEquals(List.of(AlarmType.NEW_COMMENT_ON_POST, AlarmType.NEW_LIKE_ON_POST),
+                alarms.stream().map(Alarm::getAlarmType).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(1, 3), alarms.stream().map(Alarm::getTargetId).collect(Collectors.toList()));
+        Assertions.assertNotNull(alarms.get(0).getRegisteredAt());
+    }
+
+}
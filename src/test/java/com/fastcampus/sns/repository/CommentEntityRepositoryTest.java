@@ -0,0 +1,99 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.Comment;
+import com.fastcampus.sns.model.entity.CommentEntity;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import com.fastcampus.sns.service.AlarmProducer;
+import com.fastcampus.sns.service.CommentService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(CommentService.class)
+public class CommentEntityRepositoryTest {
+
+    private static final int PAGE_SIZE = 5;
+    private static final int WRITER_COUNT = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CommentService commentService;
+
+    @MockBean
+    private AlarmProducer alarmProducer;
+
+    private PostEntity post;
+
+    @BeforeEach
+    void setUp() {
+        final UserEntity postWriter = entityManager.persist(UserEntity.of("postWriter", "password"));
+        post = entityManager.persist(PostEntity.of("title", "body", postWriter));
+        final PostEntity otherPost = entityManager.persist(PostEntity.of("title", "body", postWriter));
+
+        final List<UserEntity> writers = new ArrayList<>();
+        for (int i = 0; i < WRITER_COUNT; i++) {
+            writers.add(entityManager.persist(UserEntity.of("userName" + i, "password")));
+        }
+
+        // 다른 post 의 댓글과 id 가 섞이도록 번갈아 저장한다.
+        for (int i = 0; i < PAGE_SIZE * 2 + 1; i++) {
+            entityManager.persist(CommentEntity.of("comment" + i, post, writers.get(i % WRITER_COUNT)));
+            entityManager.persist(CommentEntity.of("other" + i, otherPost, writers.get(i % WRITER_COUNT)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    public void 댓글_목록_조회_시_작성자를_한번에_조회한다() throws Exception {
+        final Slice<Comment> comments = commentService.list(post.getId(), null, PAGE_SIZE);
+
+        Assertions.assertEquals(PAGE_SIZE, comments.getNumberOfElements());
+        Assertions.assertTrue(comments.hasNext());
+        Assertions.assertEquals(WRITER_COUNT, comments.stream().map(Comment::getUserName).collect(Collectors.toSet()).size());
+        // post 존재 확인 + 댓글 + 작성자
+        Assertions.assertEquals(3, statistics().getPrepareStatementCount(), statistics().toString());
+    }
+
+    @Test
+    public void 댓글_목록을_마지막_id_다음부터_조회한다() throws Exception {
+        final Slice<Comment> first = commentService.list(post.getId(), null, PAGE_SIZE);
+        final Slice<Comment> second = commentService.list(post.getId(), first.getContent().get(PAGE_SIZE - 1).getId(), PAGE_SIZE);
+        final Slice<Comment> last = commentService.list(post.getId(), second.getContent().get(PAGE_SIZE - 1).getId(), PAGE_SIZE);
+
+        Assertions.assertEquals(List.of("comment5", "comment6", "comment7", "comment8", "comment9"),
+                second.stream().map(Comment::getComment).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of("comment10"), last.stream().map(Comment::getComment).collect(Collectors.toList()));
+        Assertions.assertFalse(last.hasNext());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+}
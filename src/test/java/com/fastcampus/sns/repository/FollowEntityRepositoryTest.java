@@ -0,0 +1,104 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.entity.FollowEntity;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+@DataJpaTest(properties = {"spring.jpa.database=h2", "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"})
+public class FollowEntityRepositoryTest {
+
+    private static final int MAX_FOLLOWERS = 1;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FollowEntityRepository followEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    private UserEntity reader;
+    private UserEntity friend;
+    private UserEntity celebrity;
+    private UserEntity stranger;
+
+    @BeforeEach
+    void setUp() {
+        reader = entityManager.persist(UserEntity.of("reader", "password"));
+        friend = entityManager.persist(UserEntity.of("friend", "password"));
+        celebrity = entityManager.persist(UserEntity.of("celebrity", "password"));
+        stranger = entityManager.persist(UserEntity.of("stranger", "password"));
+
+        follow(reader, friend);
+        follow(reader, celebrity);
+        follow(stranger, celebrity);
+    }
+
+    @Test
+    public void 팔로워_수를_update_쿼리로_증감한다() throws Exception {
+        entityManager.clear();
+
+        Assertions.assertEquals(1, userEntityRepository.addFollowerCount(friend.getId(), -1));
+        entityManager.clear();
+
+        Assertions.assertEquals(0, userEntityRepository.findById(friend.getId()).orElseThrow().getFollowerCount());
+        Assertions.assertEquals(2, userEntityRepository.findById(celebrity.getId()).orElseThrow().getFollowerCount());
+    }
+
+    @Test
+    public void 같은_유저를_두_번_팔로우_하면_unique_제약에_걸린다() throws Exception {
+        Assertions.assertThrows(DataIntegrityViolationException.class,
+                () -> followEntityRepository.saveAndFlush(FollowEntity.of(reader, friend)));
+    }
+
+    @Test
+    public void 언팔로우_한_row_를_다시_팔로우_할_때_되살린다() throws Exception {
+        followEntityRepository.delete(followEntityRepository.findByFollowerIdAndFollowingId(reader.getId(), friend.getId()).orElseThrow());
+        entityManager.flush();
+        Assertions.assertFalse(followEntityRepository.existsByFollowerIdAndFollowingId(reader.getId(), friend.getId()));
+
+        Assertions.assertEquals(1, followEntityRepository.restore(reader.getId(), friend.getId()));
+        Assertions.assertEquals(0, followEntityRepository.restore(reader.getId(), friend.getId()));
+        entityManager.clear();
+
+        Assertions.assertTrue(followEntityRepository.existsByFollowerIdAndFollowingId(reader.getId(), friend.getId()));
+    }
+
+    @Test
+    public void 팔로워가_많은_팔로잉만_조회한다() throws Exception {
+        Assertions.assertEquals(List.of(celebrity.getId()), followEntityRepository.findCelebrityFollowingIds(reader.getId(), MAX_FOLLOWERS));
+        Assertions.assertEquals(List.of(reader.getId(), stranger.getId()), followEntityRepository.findFollowerIds(celebrity.getId()));
+    }
+
+    @Test
+    public void 타임라인은_본인과_팔로워가_적은_팔로잉의_post_를_최신순으로_조회한다() throws Exception {
+        final Integer mine = entityManager.persist(PostEntity.of("title", "body", reader)).getId();
+        final Integer friends = entityManager.persist(PostEntity.of("title", "body", friend)).getId();
+        entityManager.persist(PostEntity.of("title", "body", celebrity));
+        entityManager.persist(PostEntity.of("title", "body", stranger));
+        entityManager.flush();
+
+        Assertions.assertEquals(List.of(friends, mine), postEntityRepository.findTimelineIds(reader.getId(), MAX_FOLLOWERS, PageRequest.of(0, 10)));
+    }
+
+    private void follow(UserEntity follower, UserEntity following) {
+        entityManager.persist(FollowEntity.of(follower, following));
+        entityManager.flush();
+        userEntityRepository.addFollowerCount(following.getId(), 1);
+    }
+
+}
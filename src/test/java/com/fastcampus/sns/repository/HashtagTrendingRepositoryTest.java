@@ -0,0 +1,52 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.TrendingHashtag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class HashtagTrendingRepositoryTest {
+
+    private static final long BUCKET_MS = 1_000;
+
+    // 5초 window, 1초 bucket
+    private final HashtagTrendingRepository hashtagTrendingRepository = new HashtagTrendingRepository(5 * BUCKET_MS, BUCKET_MS, 2);
+
+    @Test
+    public void 많이_사용된_hashtag_순으로_top_k_를_반환한다() throws Exception {
+        hashtagTrendingRepository.increment(List.of("a", "b", "c"), 0);
+        hashtagTrendingRepository.increment(List.of("b", "c"), 1_500);
+        hashtagTrendingRepository.increment(List.of("c"), 2_500);
+
+        hashtagTrendingRepository.refresh(3_000);
+
+        final List<TrendingHashtag> trending = hashtagTrendingRepository.getTrending(10);
+        Assertions.assertEquals(List.of("c", "b"), trending.stream().map(TrendingHashtag::getTag).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(3L, 2L), trending.stream().map(TrendingHashtag::getCount).collect(Collectors.toList()));
+        Assertions.assertEquals(1, hashtagTrendingRepository.getTrending(1).size());
+    }
+
+    @Test
+    public void window_가_지난_bucket_은_세지_않는다() throws Exception {
+        hashtagTrendingRepository.increment(List.of("old", "old"), 0);
+        hashtagTrendingRepository.increment(List.of("old"), 0);
+        hashtagTrendingRepository.increment(List.of("new"), 5_500);
+
+        hashtagTrendingRepository.refresh(5_500);
+
+        Assertions.assertEquals(List.of("new"), hashtagTrendingRepository.getTrending(10).stream().map(TrendingHashtag::getTag).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void ring_을_한바퀴_돈_bucket_은_새로_센다() throws Exception {
+        hashtagTrendingRepository.increment(List.of("a"), 0);
+        hashtagTrendingRepository.increment(List.of("a"), 5_000);
+
+        hashtagTrendingRepository.refresh(5_000);
+
+        Assertions.assertEquals(1L, hashtagTrendingRepository.getTrending(10).get(0).getCount());
+    }
+
+}
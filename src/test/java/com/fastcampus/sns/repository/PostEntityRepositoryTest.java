@@ -0,0 +1,131 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.model.Post;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class PostEntityRepositoryTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    private UserEntity writer;
+
+    @BeforeEach
+    void setUp() {
+        // 작성자가 모두 다른 post 를 한 페이지보다 많이 저장한다.
+        for (int i = 0; i < PAGE_SIZE * 2; i++) {
+            final UserEntity user = entityManager.persist(UserEntity.of("userName" + i, "password"));
+            entityManager.persist(PostEntity.of("title" + i, "body" + i, user));
+            writer = user;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    public void 피드_목록_조회_시_작성자를_post_마다_조회하지_않는다() throws Exception {
+        final List<Post> posts = findPosts(postEntityRepository.findAllIds(PageRequest.of(0, PAGE_SIZE, Sort.by("id"))).getContent());
+
+        assertUserNamesLoaded(posts, PAGE_SIZE);
+        // id + count + post
+        Assertions.assertTrue(statistics().getPrepareStatementCount() <= 3, statistics().toString());
+    }
+
+    @Test
+    public void 내_피드_목록_조회_시_작성자를_post_마다_조회하지_않는다() throws Exception {
+        final List<Post> posts = findPosts(postEntityRepository.findAllIdsByUserId(writer.getId(), PageRequest.of(0, PAGE_SIZE)).getContent());
+
+        assertUserNamesLoaded(posts, 1);
+        // 첫 페이지가 size 보다 작으면 count 쿼리는 생략된다.
+        Assertions.assertEquals(2, statistics().getPrepareStatementCount(), statistics().toString());
+    }
+
+    @Test
+    public void 피드_스크롤_시_작성자를_post_마다_조회하지_않는다() throws Exception {
+        final List<Post> posts = findPosts(postEntityRepository.findAllIdsOrderByIdDesc(PageRequest.of(0, PAGE_SIZE)).getContent());
+
+        assertUserNamesLoaded(posts, PAGE_SIZE);
+        Assertions.assertEquals(2, statistics().getPrepareStatementCount(), statistics().toString());
+    }
+
+    @Test
+    public void 포스트_조회_시_작성자를_함께_조회한다() throws Exception {
+        final Integer postId = postEntityRepository.findAllIdsByUserId(writer.getId(), PageRequest.of(0, 1)).getContent().get(0);
+        entityManager.clear();
+        statistics().clear();
+
+        final PostEntity postEntity = postEntityRepository.findById(postId).orElseThrow();
+
+        Assertions.assertEquals(writer.getId(), postEntity.getUser().getId());
+        Assertions.assertEquals(writer.getUserName(), postEntity.getUser().getUserName());
+        Assertions.assertEquals(1, statistics().getPrepareStatementCount(), statistics().toString());
+    }
+
+    @Test
+    public void 포스트를_stream_으로_조회_시_작성자와_함께_id_역순으로_조회한다() throws Exception {
+        final List<PostEntity> posts = postEntityRepository.findAllWithUserByIdLessThan(Integer.MAX_VALUE, PageRequest.of(0, PAGE_SIZE));
+
+        Assertions.assertEquals(PAGE_SIZE, posts.size());
+        Assertions.assertEquals(writer.getUserName(), posts.get(0).getUser().getUserName());
+        Assertions.assertTrue(posts.get(0).getId() > posts.get(PAGE_SIZE - 1).getId());
+        Assertions.assertEquals(1, statistics().getPrepareStatementCount(), statistics().toString());
+    }
+
+    @Test
+    public void 포스트_여러건_저장_시_insert_를_batch_로_실행한다() throws Exception {
+        final int count = 120;
+        for (int i = 0; i < count; i++) {
+            postEntityRepository.save(PostEntity.of("bulk" + i, "body", writer));
+        }
+        entityManager.flush();
+
+        // batch_size(50) 단위 insert 3번과 sequence 조회만 실행된다.
+        Assertions.assertTrue(statistics().getPrepareStatementCount() < 10, statistics().toString());
+        Assertions.assertEquals(count, statistics().getEntityInsertCount());
+    }
+
+    private List<Post> findPosts(List<Integer> ids) {
+        return postEntityRepository.findAllByIdIn(ids).stream()
+                .map(Post::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    private void assertUserNamesLoaded(List<Post> posts, int expectedSize) {
+        Assertions.assertEquals(expectedSize, posts.size());
+        Assertions.assertEquals(expectedSize, posts.stream().map(it -> it.getUser().getUsername()).collect(Collectors.toSet()).size());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+}
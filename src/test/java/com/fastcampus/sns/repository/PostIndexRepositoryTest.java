@@ -0,0 +1,106 @@
+package com.fastcampus.sns.repository;
+
+import com.fastcampus.sns.repository.PostIndexRepository.SearchResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public class PostIndexRepositoryTest {
+
+    private final PostIndexRepository postIndexRepository = new PostIndexRepository();
+
+    @Test
+    public void 검색어가_많이_등장한_post_가_먼저_검색된다() throws Exception {
+        postIndexRepository.index(1, "spring", "java spring boot");
+        postIndexRepository.index(2, "java", "java java kotlin");
+        postIndexRepository.index(3, "python", "django");
+
+        final SearchResult result = postIndexRepository.search("Java", 0, 10);
+
+        Assertions.assertEquals(List.of(2, 1), result.getPostIds());
+        Assertions.assertEquals(2, result.getTotalHits());
+    }
+
+    @Test
+    public void 드문_검색어와_일치하는_post_가_먼저_검색된다() throws Exception {
+        postIndexRepository.index(1, "spring", "common common");
+        postIndexRepository.index(2, "rare", "common");
+        postIndexRepository.index(3, "other", "common");
+
+        final SearchResult result = postIndexRepository.search("common rare", 0, 10);
+
+        Assertions.assertEquals(2, result.getPostIds().get(0));
+        Assertions.assertEquals(3, result.getTotalHits());
+    }
+
+    @Test
+    public void 수정된_post_는_새_내용으로_검색된다() throws Exception {
+        postIndexRepository.index(1, "title", "before");
+        postIndexRepository.index(1, "title", "after");
+
+        Assertions.assertEquals(List.of(), postIndexRepository.search("before", 0, 10).getPostIds());
+        Assertions.assertEquals(List.of(1), postIndexRepository.search("after", 0, 10).getPostIds());
+        Assertions.assertEquals(1, postIndexRepository.size());
+    }
+
+    @Test
+    public void 삭제된_post_는_검색되지_않는다() throws Exception {
+        postIndexRepository.index(1, "title", "body");
+        postIndexRepository.index(2, "title", "body");
+
+        postIndexRepository.remove(1);
+
+        Assertions.assertEquals(List.of(2), postIndexRepository.search("title", 0, 10).getPostIds());
+    }
+
+    @Test
+    public void 검색_결과를_offset_과_limit_으로_나눈다() throws Exception {
+        for (int id = 1; id <= 5; id++) {
+            postIndexRepository.index(id, "title", "body");
+        }
+
+        // 점수가 같으면 최신 post 부터 반환한다.
+        Assertions.assertEquals(List.of(5, 4), postIndexRepository.search("title", 0, 2).getPostIds());
+        Assertions.assertEquals(List.of(3, 2), postIndexRepository.search("title", 2, 2).getPostIds());
+        Assertions.assertEquals(List.of(1), postIndexRepository.search("title", 4, 2).getPostIds());
+    }
+
+    @Test
+    public void 삭제가_쌓여_compaction_된_후에도_검색_결과가_유지된다() throws Exception {
+        for (int id = 1; id <= 2000; id++) {
+            postIndexRepository.index(id, "title " + id, id % 2 == 0 ? "even" : "odd");
+        }
+        for (int id = 1; id <= 2000; id += 2) {
+            postIndexRepository.remove(id);
+        }
+
+        Assertions.assertEquals(0, postIndexRepository.search("odd", 0, 10).getTotalHits());
+        Assertions.assertEquals(1000, postIndexRepository.search("even", 0, 10).getTotalHits());
+        Assertions.assertEquals(List.of(1000), postIndexRepository.search("1000", 0, 10).getPostIds());
+    }
+
+    @Test
+    public void snapshot_으로_색인을_복원한다(@TempDir Path dir) throws Exception {
+        final Path path = dir.resolve("post-index.snapshot");
+        postIndexRepository.index(1, "spring", "java spring boot");
+        postIndexRepository.index(2, "java", "java java kotlin");
+        postIndexRepository.index(3, "python", "django");
+        postIndexRepository.remove(3);
+
+        postIndexRepository.writeSnapshot(path, 1000L);
+        final PostIndexRepository restored = new PostIndexRepository();
+
+        Assertions.assertEquals(1000L, restored.readSnapshot(path));
+        Assertions.assertEquals(List.of(2, 1), restored.search("java", 0, 10).getPostIds());
+        Assertions.assertEquals(List.of(), restored.search("django", 0, 10).getPostIds());
+        Assertions.assertEquals(3, restored.getMaxPostId());
+        Assertions.assertEquals(2, restored.size());
+
+        restored.index(4, "java", "java");
+        Assertions.assertEquals(4, restored.search("java", 0, 10).getPostIds().get(0));
+    }
+
+}
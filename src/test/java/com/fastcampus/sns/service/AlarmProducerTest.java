@@ -0,0 +1,88 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.model.AlarmEvent;
+import com.fastcampus.sns.model.AlarmType;
+import com.fastcampus.sns.repository.AlarmBatchRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class AlarmProducerTest {
+
+    private final AlarmBatchRepository alarmBatchRepository = mock(AlarmBatchRepository.class);
+    private final AlarmService alarmService = mock(AlarmService.class);
+
+    @Test
+    public void 쌓인_알람을_batch_로_적재한다() throws Exception {
+        final AlarmProducer alarmProducer = new AlarmProducer(alarmBatchRepository, alarmService, 10, AlarmProducer.OverflowPolicy.DROP, 0, 2);
+
+        for (int i = 0; i < 3; i++) {
+            alarmProducer.send(event(i));
+        }
+        alarmProducer.start();
+        alarmProducer.stop();
+
+        // batch-size 가 2 이므로 2건, 1건으로 나누어 적재한다.
+        verify(alarmBatchRepository, times(2)).saveAll(anyList());
+        verify(alarmService, times(3)).push(any());
+        Assertions.assertEquals(3, alarmProducer.getWrittenCount());
+        Assertions.assertEquals(0, alarmProducer.getQueueSize());
+    }
+
+    @Test
+    public void queue_가_가득_차면_알람을_버린다() throws Exception {
+        final AlarmProducer alarmProducer = new AlarmProducer(alarmBatchRepository, alarmService, 2, AlarmProducer.OverflowPolicy.DROP, 0, 10);
+
+        for (int i = 0; i < 5; i++) {
+            alarmProducer.send(event(i));
+        }
+
+        Assertions.assertEquals(5, alarmProducer.getOfferedCount());
+        Assertions.assertEquals(3, alarmProducer.getDroppedCount());
+        Assertions.assertEquals(0, alarmProducer.getRemainingCapacity());
+    }
+
+    @Test
+    public void BLOCK_정책이면_자리가_날_때까지_기다린다() throws Exception {
+        final AlarmProducer alarmProducer = new AlarmProducer(alarmBatchRepository, alarmService, 1, AlarmProducer.OverflowPolicy.BLOCK, 5_000, 10);
+        alarmProducer.start();
+
+        for (int i = 0; i < 5; i++) {
+            alarmProducer.send(event(i));
+        }
+        alarmProducer.stop();
+
+        Assertions.assertEquals(0, alarmProducer.getDroppedCount());
+        Assertions.assertEquals(5, alarmProducer.getWrittenCount());
+    }
+
+    @Test
+    public void 적재에_실패해도_worker_는_멈추지_않는다() throws Exception {
+        final AlarmProducer alarmProducer = new AlarmProducer(alarmBatchRepository, alarmService, 10, AlarmProducer.OverflowPolicy.DROP, 0, 1);
+        doThrow(new DataAccessResourceFailureException("fail")).doNothing().when(alarmBatchRepository).saveAll(anyList());
+        alarmProducer.start();
+
+        alarmProducer.send(event(0));
+        alarmProducer.send(event(1));
+        verify(alarmBatchRepository, timeout(5_000).times(2)).saveAll(anyList());
+        alarmProducer.stop();
+
+        Assertions.assertEquals(1, alarmProducer.getFailedCount());
+        Assertions.assertEquals(1, alarmProducer.getWrittenCount());
+        // 적재에 실패한 알람은 보내지 않는다.
+        verify(alarmService, times(1)).push(any());
+    }
+
+    private static AlarmEvent event(int targetId) {
+        return AlarmEvent.of(1, AlarmType.NEW_LIKE_ON_POST, 2, targetId);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.model.AlarmEvent;
+import com.fastcampus.sns.model.AlarmType;
+import com.fastcampus.sns.repository.AlarmEntityRepository;
+import com.fastcampus.sns.repository.EmitterRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class AlarmServiceTest {
+
+    private final EmitterRepository emitterRepository = new EmitterRepository();
+    private final AlarmService alarmService = new AlarmService(mock(AlarmEntityRepository.class), emitterRepository, 60_000, 60_000, 2, 100);
+
+    @Test
+    public void 알람을_받을_유저의_emitter_에만_보낸다() throws Exception {
+        // given
+        final SseEmitter receiver = emitterRepository.save(1, mock(SseEmitter.class));
+        final SseEmitter other = emitterRepository.save(2, mock(SseEmitter.class));
+
+        // when
+        alarmService.push(AlarmEvent.of(1, AlarmType.NEW_COMMENT_ON_POST, 2, 1));
+
+        //then
+        verify(receiver, timeout(1_000)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(other, never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    public void 끊어진_emitter_는_정리한다() throws Exception {
+        // given
+        final SseEmitter emitter = emitterRepository.save(1, mock(SseEmitter.class));
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        // when
+        alarmService.push(AlarmEvent.of(1, AlarmType.NEW_LIKE_ON_POST, 2, 1));
+
+        //then
+        verify(emitter, timeout(1_000)).completeWithError(any());
+        Assertions.assertEquals(0, alarmService.subscriberCount());
+    }
+
+    @Test
+    public void 느린_emitter_가_다른_emitter_의_전송을_막지_않는다() throws Exception {
+        // given
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final SseEmitter slow = emitterRepository.save(1, mock(SseEmitter.class));
+        final SseEmitter fast = emitterRepository.save(1, mock(SseEmitter.class));
+        doAnswer(invocation -> {
+            blocked.await();
+            return null;
+        }).when(slow).send(any(SseEmitter.SseEventBuilder.class));
+
+        // when
+        alarmService.push(AlarmEvent.of(1, AlarmType.NEW_COMMENT_ON_POST, 2, 1));
+
+        //then
+        verify(fast, timeout(1_000)).send(any(SseEmitter.SseEventBuilder.class));
+        blocked.countDown();
+    }
+
+    @Test
+    public void heartbeat_는_알람_전송_queue_를_채우지_않는다() throws Exception {
+        // given
+        final AlarmService alarmService = new AlarmService(mock(AlarmEntityRepository.class), emitterRepository, 60_000, 60_000, 1, 1);
+        for (int userId = 2; userId < 10; userId++) {
+            emitterRepository.save(userId, mock(SseEmitter.class));
+        }
+        final SseEmitter receiver = emitterRepository.save(1, mock(SseEmitter.class));
+
+        // when
+        alarmService.heartbeat();
+        alarmService.push(AlarmEvent.of(1, AlarmType.NEW_COMMENT_ON_POST, 2, 1));
+
+        //then
+        verify(receiver, timeout(1_000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        Assertions.assertEquals(0, alarmService.getDroppedPushCount());
+    }
+
+    @Test
+    public void 구독하면_emitter_가_등록된다() throws Exception {
+        alarmService.subscribe(1);
+        alarmService.subscribe(1);
+
+        Assertions.assertEquals(2, alarmService.subscriberCount());
+        Assertions.assertEquals(2, emitterRepository.get(1).size());
+    }
+
+}
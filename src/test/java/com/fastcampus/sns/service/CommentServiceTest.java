@@ -0,0 +1,102 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import com.fastcampus.sns.fixture.PostEntityFixture;
+import com.fastcampus.sns.fixture.UserEntityFixture;
+import com.fastcampus.sns.model.AlarmType;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.repository.CommentEntityRepository;
+import com.fastcampus.sns.repository.PostEntityRepository;
+import com.fastcampus.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class CommentServiceTest {
+
+    @Autowired
+    private CommentService commentService;
+    @MockBean
+    private CommentEntityRepository commentEntityRepository;
+    @MockBean
+    private PostEntityRepository postEntityRepository;
+    @MockBean
+    private UserEntityRepository userEntityRepository;
+    @MockBean
+    private AlarmProducer alarmProducer;
+
+    @Test
+    public void 댓글_작성이_성공한_경우() throws Exception {
+        // given
+        Integer postId = 1;
+        Integer userId = 1;
+        PostEntity postEntity = PostEntityFixture.get("writer", postId, 2);
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(postEntity));
+        when(userEntityRepository.getById(userId)).thenReturn(UserEntityFixture.get("userName", "password", userId));
+
+        //then
+        Assertions.assertDoesNotThrow(() -> commentService.create(postId, userId, "comment"));
+        verify(commentEntityRepository).save(any());
+        verify(alarmProducer).send(argThat(it -> it.getUserId() == 2 && it.getAlarmType() == AlarmType.NEW_COMMENT_ON_POST && it.getFromUserId().equals(userId)));
+    }
+
+    @Test
+    public void 자신의_포스트에_댓글을_작성한_경우_알람을_보내지_않는다() throws Exception {
+        // given
+        Integer postId = 1;
+        Integer userId = 2;
+        PostEntity postEntity = PostEntityFixture.get("writer", postId, userId);
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(postEntity));
+        when(userEntityRepository.getById(userId)).thenReturn(UserEntityFixture.get("writer", "password", userId));
+
+        //then
+        Assertions.assertDoesNotThrow(() -> commentService.create(postId, userId, "comment"));
+        verify(commentEntityRepository).save(any());
+        verify(alarmProducer, never()).send(any());
+    }
+
+    @Test
+    public void 댓글_작성_시_포스트가_존재하지_않는_경우() throws Exception {
+        // given
+        Integer postId = 1;
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.empty());
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> commentService.create(postId, 1, "comment"));
+        Assertions.assertEquals(ErrorCode.POST_NOT_FOUND, e.getErrorCode());
+        verify(commentEntityRepository, never()).save(any());
+        verify(alarmProducer, never()).send(any());
+    }
+
+    @Test
+    public void 댓글_목록_조회_시_포스트가_존재하지_않는_경우() throws Exception {
+        // given
+        Integer postId = 1;
+
+        // when
+        when(postEntityRepository.existsById(postId)).thenReturn(false);
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> commentService.list(postId, null, 10));
+        Assertions.assertEquals(ErrorCode.POST_NOT_FOUND, e.getErrorCode());
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import com.fastcampus.sns.fixture.UserEntityFixture;
+import com.fastcampus.sns.model.entity.FollowEntity;
+import com.fastcampus.sns.model.entity.UserEntity;
+import com.fastcampus.sns.repository.FollowEntityRepository;
+import com.fastcampus.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class FollowServiceTest {
+
+    @Autowired
+    private FollowService followService;
+    @MockBean
+    private FollowEntityRepository followEntityRepository;
+    @MockBean
+    private UserEntityRepository userEntityRepository;
+    @MockBean
+    private TimelineService timelineService;
+
+    @Test
+    public void 팔로우가_성공한_경우() throws Exception {
+        // given
+        final UserEntity following = UserEntityFixture.get("following", "password", 2);
+        following.setFollowerCount(3);
+
+        // when
+        when(userEntityRepository.findById(2)).thenReturn(Optional.of(following));
+        when(followEntityRepository.existsByFollowerIdAndFollowingId(1, 2)).thenReturn(false);
+
+        //then
+        Assertions.assertDoesNotThrow(() -> followService.follow(1, 2));
+        verify(followEntityRepository).saveAndFlush(any());
+        verify(userEntityRepository).addFollowerCount(2, 1);
+        verify(timelineService).followChanged(1, 2, 3, 4);
+    }
+
+    @Test
+    public void 언팔로우_했던_유저를_다시_팔로우_하면_row_를_되살린다() throws Exception {
+        // given
+        final UserEntity following = UserEntityFixture.get("following", "password", 2);
+        following.setFollowerCount(3);
+
+        // when
+        when(userEntityRepository.findById(2)).thenReturn(Optional.of(following));
+        when(followEntityRepository.existsByFollowerIdAndFollowingId(1, 2)).thenReturn(false);
+        when(followEntityRepository.restore(1, 2)).thenReturn(1);
+
+        //then
+        Assertions.assertDoesNotThrow(() -> followService.follow(1, 2));
+        verify(followEntityRepository, never()).saveAndFlush(any());
+        verify(userEntityRepository).addFollowerCount(2, 1);
+        verify(timelineService).followChanged(1, 2, 3, 4);
+    }
+
+    @Test
+    public void 팔로우_시_본인을_팔로우_하는_경우() throws Exception {
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> followService.follow(1, 1));
+        Assertions.assertEquals(ErrorCode.INVALID_FOLLOW, e.getErrorCode());
+    }
+
+    @Test
+    public void 팔로우_시_유저가_존재하지_않는_경우() throws Exception {
+        // when
+        when(userEntityRepository.findById(2)).thenReturn(Optional.empty());
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> followService.follow(1, 2));
+        Assertions.assertEquals(ErrorCode.USER_NOT_FOUND, e.getErrorCode());
+    }
+
+    @Test
+    public void 팔로우_시_이미_팔로우_한_경우() throws Exception {
+        // when
+        when(userEntityRepository.findById(2)).thenReturn(Optional.of(UserEntityFixture.get("following", "password", 2)));
+        when(followEntityRepository.existsByFollowerIdAndFollowingId(1, 2)).thenReturn(true);
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> followService.follow(1, 2));
+        Assertions.assertEquals(ErrorCode.ALREADY_FOLLOWED, e.getErrorCode());
+        verify(followEntityRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void 팔로우_시_동시에_팔로우_되어_unique_제약에_걸리는_경우() throws Exception {
+        // when
+        when(userEntityRepository.findById(2)).thenReturn(Optional.of(UserEntityFixture.get("following", "password", 2)));
+        when(followEntityRepository.existsByFollowerIdAndFollowingId(1, 2)).thenReturn(false);
+        when(followEntityRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("follow_follower_id_following_id_uk"));
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> followService.follow(1, 2));
+        Assertions.assertEquals(ErrorCode.ALREADY_FOLLOWED, e.getErrorCode());
+        verify(userEntityRepository, never()).addFollowerCount(any(), anyInt());
+        verify(timelineService, never()).followChanged(any(), any(), any(), any());
+    }
+
+    @Test
+    public void 언팔로우가_성공한_경우() throws Exception {
+        // given
+        final UserEntity following = UserEntityFixture.get("following", "password", 2);
+        following.setFollowerCount(3);
+        final FollowEntity followEntity = FollowEntity.of(UserEntityFixture.get("follower", "password", 1), following);
+
+        // when
+        when(followEntityRepository.findByFollowerIdAndFollowingId(1, 2)).thenReturn(Optional.of(followEntity));
+
+        //then
+        Assertions.assertDoesNotThrow(() -> followService.unfollow(1, 2));
+        verify(followEntityRepository).delete(followEntity);
+        verify(userEntityRepository).addFollowerCount(2, -1);
+        verify(timelineService).followChanged(1, 2, 3, 2);
+    }
+
+    @Test
+    public void 언팔로우_시_팔로우_하지_않은_경우() throws Exception {
+        // when
+        when(followEntityRepository.findByFollowerIdAndFollowingId(1, 2)).thenReturn(Optional.empty());
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> followService.unfollow(1, 2));
+        Assertions.assertEquals(ErrorCode.FOLLOW_NOT_FOUND, e.getErrorCode());
+    }
+
+}
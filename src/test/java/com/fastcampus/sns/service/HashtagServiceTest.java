@@ -0,0 +1,112 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.fixture.PostEntityFixture;
+import com.fastcampus.sns.fixture.UserEntityFixture;
+import com.fastcampus.sns.model.AlarmEvent;
+import com.fastcampus.sns.model.AlarmType;
+import com.fastcampus.sns.model.TrendingHashtag;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.repository.HashtagTrendingRepository;
+import com.fastcampus.sns.repository.PostHashtagEntityRepository;
+import com.fastcampus.sns.repository.PostMentionEntityRepository;
+import com.fastcampus.sns.repository.UserEntityRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HashtagServiceTest {
+
+    private final PostHashtagEntityRepository postHashtagEntityRepository = mock(PostHashtagEntityRepository.class);
+    private final PostMentionEntityRepository postMentionEntityRepository = mock(PostMentionEntityRepository.class);
+    private final UserEntityRepository userEntityRepository = mock(UserEntityRepository.class);
+    private final HashtagTrendingRepository hashtagTrendingRepository = new HashtagTrendingRepository(60_000, 1_000, 10);
+    private final AlarmProducer alarmProducer = mock(AlarmProducer.class);
+    private final HashtagService hashtagService = new HashtagService(postHashtagEntityRepository, postMentionEntityRepository, userEntityRepository, hashtagTrendingRepository, alarmProducer, 3);
+
+    @Test
+    public void 포스트_작성_시_hashtag_와_mention_을_저장하고_멘션된_유저에게_알람을_보낸다() throws Exception {
+        // given
+        final PostEntity postEntity = PostEntityFixture.get("writer", 1, 1);
+
+        // when
+        when(userEntityRepository.findAllByUserNameIn(Set.of("writer", "friend", "nobody")))
+                .thenReturn(List.of(UserEntityFixture.get("writer", "password", 1), UserEntityFixture.get("friend", "password", 2)));
+        hashtagService.create(postEntity, 1, "#Spring #spring @writer @friend @nobody");
+        hashtagService.refreshTrending();
+
+        //then
+        verify(postHashtagEntityRepository).saveAll(any());
+        verify(postMentionEntityRepository).saveAll(any());
+
+        final ArgumentCaptor<AlarmEvent> captor = ArgumentCaptor.forClass(AlarmEvent.class);
+        verify(alarmProducer).send(captor.capture());
+        Assertions.assertEquals(2, captor.getValue().getUserId());
+        Assertions.assertEquals(AlarmType.NEW_MENTION_ON_POST, captor.getValue().getAlarmType());
+
+        Assertions.assertEquals(List.of("spring"), hashtagService.trending(10).stream().map(TrendingHashtag::getTag).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void 포스트_수정_시_달라진_hashtag_와_mention_만_반영한다() throws Exception {
+        // given
+        final PostEntity postEntity = PostEntityFixture.get("writer", 1, 1);
+
+        // when
+        when(postHashtagEntityRepository.findTagsByPostId(1)).thenReturn(List.of("spring", "jpa"));
+        when(postMentionEntityRepository.findUsersByPostId(1)).thenReturn(List.of(UserEntityFixture.get("friend", "password", 2)));
+        hashtagService.modify(postEntity, 1, "#spring #boot @friend");
+        hashtagService.refreshTrending();
+
+        //then
+        verify(postHashtagEntityRepository).deleteAllByPostIdAndTagIn(1, Set.of("jpa"));
+        verify(postMentionEntityRepository, never()).deleteAllByPostIdAndUserIdIn(any(), anyCollection());
+        verify(postMentionEntityRepository, never()).saveAll(any());
+        verify(userEntityRepository, never()).findAllByUserNameIn(anyCollection());
+        verify(alarmProducer, never()).send(any());
+
+        Assertions.assertEquals(List.of("boot"), hashtagService.trending(10).stream().map(TrendingHashtag::getTag).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void 포스트_수정_시_새로_멘션된_유저만_조회하고_알람을_보낸다() throws Exception {
+        // given
+        final PostEntity postEntity = PostEntityFixture.get("writer", 1, 1);
+
+        // when
+        when(postMentionEntityRepository.findUsersByPostId(1)).thenReturn(List.of(UserEntityFixture.get("friend", "password", 2), UserEntityFixture.get("old", "password", 4)));
+        when(userEntityRepository.findAllByUserNameIn(Set.of("newbie"))).thenReturn(List.of(UserEntityFixture.get("newbie", "password", 3)));
+        hashtagService.modify(postEntity, 1, "@friend @newbie");
+
+        //then
+        verify(userEntityRepository).findAllByUserNameIn(Set.of("newbie"));
+        verify(postMentionEntityRepository).deleteAllByPostIdAndUserIdIn(1, Set.of(4));
+
+        final ArgumentCaptor<AlarmEvent> captor = ArgumentCaptor.forClass(AlarmEvent.class);
+        verify(alarmProducer).send(captor.capture());
+        Assertions.assertEquals(3, captor.getValue().getUserId());
+    }
+
+    @Test
+    public void 멘션은_본문_앞쪽부터_최대_개수까지만_저장한다() throws Exception {
+        // given
+        final PostEntity postEntity = PostEntityFixture.get("writer", 1, 1);
+
+        // when
+        hashtagService.create(postEntity, 1, "@a @b @c @d @e");
+
+        //then
+        verify(userEntityRepository).findAllByUserNameIn(Set.of("a", "b", "c"));
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import com.fastcampus.sns.fixture.PostEntityFixture;
+import com.fastcampus.sns.model.AlarmType;
+import com.fastcampus.sns.repository.LikeEntityRepository;
+import com.fastcampus.sns.repository.PostEntityRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class LikeServiceTest {
+
+    @Autowired
+    private LikeService likeService;
+
+    @MockBean
+    private LikeEntityRepository likeEntityRepository;
+
+    @MockBean
+    private PostEntityRepository postEntityRepository;
+
+    @MockBean
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private AlarmProducer alarmProducer;
+
+    @Test
+    public void 좋아요가_성공한_경우() throws Exception {
+        // given
+        final Integer postId = 1;
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(PostEntityFixture.get("writer", postId, 100)));
+        when(likeEntityRepository.countByPostId(postId)).thenReturn(10L);
+
+        likeService.like(postId, 1);
+        likeService.like(postId, 2);
+
+        //then
+        Assertions.assertEquals(12L, likeService.count(postId));
+        verify(likeEntityRepository, times(1)).countByPostId(postId);
+        verify(alarmProducer, times(2)).send(argThat(it -> it.getUserId() == 100 && it.getAlarmType() == AlarmType.NEW_LIKE_ON_POST && it.getTargetId().equals(postId)));
+    }
+
+    @Test
+    public void 자신의_포스트에_좋아요를_누른_경우_알람을_보내지_않는다() throws Exception {
+        // given
+        final Integer postId = 7;
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(PostEntityFixture.get("writer", postId, 100)));
+        likeService.like(postId, 100);
+
+        //then
+        Assertions.assertEquals(1L, likeService.count(postId));
+        verify(alarmProducer, never()).send(any());
+    }
+
+    @Test
+    public void 좋아요_시_이미_좋아요를_누른_경우() throws Exception {
+        // given
+        final Integer postId = 2;
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(PostEntityFixture.get("writer", postId, 100)));
+        likeService.like(postId, 1);
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> likeService.like(postId, 1));
+        Assertions.assertEquals(ErrorCode.ALREADY_LIKED, e.getErrorCode());
+    }
+
+    @Test
+    public void 좋아요_시_이미_DB_에_좋아요가_있는_경우() throws Exception {
+        // given
+        final Integer postId = 3;
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(PostEntityFixture.get("writer", postId, 100)));
+        when(likeEntityRepository.existsByUserIdAndPostId(1, postId)).thenReturn(true);
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> likeService.like(postId, 1));
+        Assertions.assertEquals(ErrorCode.ALREADY_LIKED, e.getErrorCode());
+    }
+
+    @Test
+    public void 좋아요_시_포스트가_존재하지_않는_경우() throws Exception {
+        // given
+        final Integer postId = 4;
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.empty());
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> likeService.like(postId, 1));
+        Assertions.assertEquals(ErrorCode.POST_NOT_FOUND, e.getErrorCode());
+    }
+
+    @Test
+    public void 좋아요를_DB_에_적재해도_좋아요_수는_유지된다() throws Exception {
+        // given
+        final Integer postId = 5;
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(PostEntityFixture.get("writer", postId, 100)));
+        when(likeEntityRepository.countByPostId(postId)).thenReturn(3L);
+
+        likeService.like(postId, 1);
+        likeService.flush();
+
+        //then
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), anyList());
+        Assertions.assertEquals(4L, likeService.count(postId));
+    }
+
+    @Test
+    public void 좋아요_적재_시_이미_DB_에_있는_좋아요는_건너뛴다() throws Exception {
+        // given
+        final Integer postId = 6;
+
+        // when
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(PostEntityFixture.get("writer", postId, 100)));
+        when(likeEntityRepository.countByPostId(postId)).thenReturn(3L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DuplicateKeyException("duplicated"));
+        when(jdbcTemplate.update(anyString(), eq(1), eq(postId), any())).thenThrow(new DuplicateKeyException("duplicated"));
+
+        likeService.like(postId, 1);
+        likeService.like(postId, 2);
+        likeService.flush();
+
+        //then
+        verify(jdbcTemplate).update(anyString(), eq(2), eq(postId), any());
+        Assertions.assertEquals(4L, likeService.count(postId));
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.exception.ErrorCode;
+import com.fastcampus.sns.exception.SnsApplicationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PasswordHashingServiceTest {
+
+    @Test
+    public void hash_결과를_반환한다() throws Exception {
+        // given
+        final PasswordHashingService passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(4), 1, 1, 3000);
+
+        // when
+        final String encoded = passwordHashingService.encode("password");
+
+        //then
+        Assertions.assertTrue(passwordHashingService.matches("password", encoded));
+        Assertions.assertFalse(passwordHashingService.matches("wrongPassword", encoded));
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    public void 이전_strength_로_만든_hash_는_upgrade_대상이다() throws Exception {
+        // given
+        final String encoded = new BCryptPasswordEncoder(4).encode("password");
+
+        // when
+        final PasswordHashingService passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(5), 1, 1, 3000);
+
+        //then
+        Assertions.assertTrue(passwordHashingService.upgradeEncoding(encoded));
+        Assertions.assertFalse(passwordHashingService.upgradeEncoding(passwordHashingService.encode("password")));
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    public void queue_가_가득_찬_경우_기다리지_않고_실패한다() throws Exception {
+        // given
+        final BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(encoder.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        final PasswordHashingService passwordHashingService = new PasswordHashingService(encoder, 1, 1, 3000);
+
+        // when
+        final CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHashingService.matches("password", "encoded"));
+        Assertions.assertTrue(started.await(1, TimeUnit.SECONDS));
+        final CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.matches("password", "encoded"));
+        while (passwordHashingService.getQueueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> passwordHashingService.matches("password", "encoded"));
+        Assertions.assertEquals(ErrorCode.SERVICE_UNAVAILABLE, e.getErrorCode());
+
+        release.countDown();
+        Assertions.assertTrue(running.get(1, TimeUnit.SECONDS));
+        Assertions.assertTrue(queued.get(1, TimeUnit.SECONDS));
+        passwordHashingService.shutdown();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.fixture.PostEntityFixture;
+import com.fastcampus.sns.model.entity.PostEntity;
+import com.fastcampus.sns.repository.PostEntityRepository;
+import com.fastcampus.sns.repository.PostIndexRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PostSearchServiceTest {
+
+    private final PostIndexRepository postIndexRepository = new PostIndexRepository();
+    private final PostEntityRepository postEntityRepository = mock(PostEntityRepository.class);
+    private final PostSearchService postSearchService = new PostSearchService(postIndexRepository, postEntityRepository, "");
+
+    @Test
+    public void 전체_색인_중에_들어온_변경은_색인이_끝난_뒤_반영한다() throws Exception {
+        // given
+        postSearchService.remove(1);
+        postSearchService.index(2, "title", "kotlin");
+
+        // loader 는 변경 전에 읽은 내용으로 색인한다.
+        when(postEntityRepository.findAllByIdGreaterThanOrderByIdAsc(eq(0), any())).thenReturn(List.of(post(1, "java"), post(2, "java")));
+
+        // when
+        Assertions.assertEquals(List.of(), postSearchService.search("kotlin", PageRequest.of(0, 10)).getContent());
+        postSearchService.restore();
+
+        //then
+        Assertions.assertEquals(List.of(), postIndexRepository.search("java", 0, 10).getPostIds());
+        Assertions.assertEquals(List.of(2), postIndexRepository.search("kotlin", 0, 10).getPostIds());
+    }
+
+    @Test
+    public void 전체_색인이_끝난_뒤의_변경은_바로_반영한다() throws Exception {
+        // given
+        postSearchService.restore();
+
+        // when
+        postSearchService.index(1, "title", "java");
+
+        //then
+        Assertions.assertEquals(List.of(1), postIndexRepository.search("java", 0, 10).getPostIds());
+    }
+
+    private static PostEntity post(Integer postId, String body) {
+        final PostEntity postEntity = PostEntityFixture.get("writer", postId, 1);
+        postEntity.setTitle("title");
+        postEntity.setBody(body);
+
+        return postEntity;
+    }
+
+}
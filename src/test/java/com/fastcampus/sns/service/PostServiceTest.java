@@ -4,6 +4,8 @@ import com.fastcampus.sns.exception.ErrorCode;
 import com.fastcampus.sns.exception.SnsApplicationException;
 import com.fastcampus.sns.fixture.PostEntityFixture;
 import com.fastcampus.sns.fixture.UserEntityFixture;
+import com.fastcampus.sns.model.Post;
+import com.fastcampus.sns.model.PostContent;
 import com.fastcampus.sns.model.entity.PostEntity;
 import com.fastcampus.sns.model.entity.UserEntity;
 import com.fastcampus.sns.repository.PostEntityRepository;
@@ -14,12 +16,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -31,6 +44,12 @@ public class PostServiceTest {
     private PostEntityRepository postEntityRepository;
     @MockBean
     private UserEntityRepository userEntityRepository;
+    @MockBean
+    private TimelineService timelineService;
+    @MockBean
+    private PostSearchService postSearchService;
+    @MockBean
+    private HashtagService hashtagService;
     
     @Test
     public void 포스트_작성이_성공한_경우() throws Exception {
@@ -73,14 +92,13 @@ public class PostServiceTest {
 
         // when
         final PostEntity postEntity = PostEntityFixture.get(userName, postId, 1);
-        final UserEntity userEntity = postEntity.getUser();
 
-        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(userEntity));
         when(postEntityRepository.findById(postId)).thenReturn(Optional.of(postEntity));
         when(postEntityRepository.saveAndFlush(any())).thenReturn(postEntity);
 
         //then
-        Assertions.assertDoesNotThrow(() -> postService.modify(title, body, userName, postId));
+        Assertions.assertDoesNotThrow(() -> postService.modify(title, body, 1, postId));
+        verify(userEntityRepository, never()).findByUserName(any());
     }
 
     @Test
@@ -92,14 +110,10 @@ public class PostServiceTest {
         Integer postId = 1;
 
         // when
-        final PostEntity postEntity = PostEntityFixture.get(userName, postId, 1);
-        final UserEntity userEntity = postEntity.getUser();
-
-        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(userEntity));
         when(postEntityRepository.findById(postId)).thenReturn(Optional.empty());
 
         //then
-        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.modify(title, body, userName, postId));
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.modify(title, body, 1, postId));
         Assertions.assertEquals(ErrorCode.POST_NOT_FOUND, e.getErrorCode());
     }
 
@@ -113,13 +127,12 @@ public class PostServiceTest {
 
         // when
         final PostEntity postEntity = PostEntityFixture.get(userName, postId, 1);
-        final UserEntity writer = UserEntityFixture.get("userName1", "password", 2);
+        final UserEntity requester = UserEntityFixture.get("userName1", "password", 2);
 
-        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(writer));
         when(postEntityRepository.findById(postId)).thenReturn(Optional.of(postEntity));
 
         //then
-        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.modify(title, body, userName, postId));
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.modify(title, body, requester.getId(), postId));
         Assertions.assertEquals(ErrorCode.INVALID_PERMISSION, e.getErrorCode());
     }
 
@@ -131,13 +144,12 @@ public class PostServiceTest {
 
         // when
         final PostEntity postEntity = PostEntityFixture.get(userName, postId, 1);
-        final UserEntity userEntity = postEntity.getUser();
 
-        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(userEntity));
         when(postEntityRepository.findById(postId)).thenReturn(Optional.of(postEntity));
 
         //then
-        Assertions.assertDoesNotThrow(() -> postService.delete(userName, postId));
+        Assertions.assertDoesNotThrow(() -> postService.delete(1, postId));
+        verify(userEntityRepository, never()).findByUserName(any());
     }
 
     @Test
@@ -147,14 +159,10 @@ public class PostServiceTest {
         Integer postId = 1;
 
         // when
-        final PostEntity postEntity = PostEntityFixture.get(userName, postId, 1);
-        final UserEntity userEntity = postEntity.getUser();
-
-        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(userEntity));
         when(postEntityRepository.findById(postId)).thenReturn(Optional.empty());
 
         //then
-        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.delete(userName, postId));
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.delete(1, postId));
         Assertions.assertEquals(ErrorCode.POST_NOT_FOUND, e.getErrorCode());
     }
 
@@ -166,36 +174,178 @@ public class PostServiceTest {
 
         // when
         final PostEntity postEntity = PostEntityFixture.get(userName, postId, 1);
-        final UserEntity writer = UserEntityFixture.get("userName1", "password", 2);
+        final UserEntity requester = UserEntityFixture.get("userName1", "password", 2);
 
-        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(writer));
         when(postEntityRepository.findById(postId)).thenReturn(Optional.of(postEntity));
 
         //then
-        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.delete(userName, postId));
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.delete(requester.getId(), postId));
         Assertions.assertEquals(ErrorCode.INVALID_PERMISSION, e.getErrorCode());
     }
 
     @Test
     public void 피드_목록_요청이_성공한_경우() throws Exception {
-        final Pageable pageable = mock(Pageable.class);
-        when(postEntityRepository.findAll(pageable)).thenReturn(Page.empty());
+        final Pageable pageable = PageRequest.of(0, 10);
+        when(postEntityRepository.findAllIds(pageable)).thenReturn(Page.empty());
 
         //then
         Assertions.assertDoesNotThrow(() -> postService.list(pageable));
     }
 
+    @Test
+    public void 피드_스크롤_요청이_성공한_경우() throws Exception {
+        final PostEntity postEntity = PostEntityFixture.get("userName", 9, 1);
+
+        when(postEntityRepository.findAllIdsByIdLessThanOrderByIdDesc(10, PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(9), PageRequest.of(0, 1), true));
+        when(postEntityRepository.findAllByIdIn(List.of(9))).thenReturn(List.of(postEntity));
+
+        final Slice<Post> result = postService.scroll(10, 1);
+
+        Assertions.assertEquals(9, result.getContent().get(0).getId());
+        Assertions.assertTrue(result.hasNext());
+    }
+
+    @Test
+    public void 피드_첫_스크롤_요청이_성공한_경우() throws Exception {
+        when(postEntityRepository.findAllIdsOrderByIdDesc(PageRequest.of(0, 10))).thenReturn(new SliceImpl<>(List.of()));
+
+        Assertions.assertDoesNotThrow(() -> postService.scroll(null, 10));
+    }
+
+    @Test
+    public void 피드_목록은_캐시에_없는_post_만_조회한다() throws Exception {
+        final Pageable pageable = PageRequest.of(0, 2);
+        when(postEntityRepository.findAllIds(pageable)).thenReturn(new PageImpl<>(List.of(202, 201), pageable, 2));
+        when(postEntityRepository.findById(201)).thenReturn(Optional.of(PostEntityFixture.get("userName", 201, 1)));
+        when(postEntityRepository.findAllByIdIn(List.of(202))).thenReturn(List.of(PostEntityFixture.get("userName", 202, 1)));
+        postService.get(201);
+
+        final Page<Post> result = postService.list(pageable);
+        postService.list(pageable);
+
+        Assertions.assertEquals(List.of(202, 201), result.map(Post::getId).getContent());
+        verify(postEntityRepository, times(1)).findAllByIdIn(any());
+    }
+
+    @Test
+    public void 포스트_조회_시_캐시된_post_를_반환한다() throws Exception {
+        when(postEntityRepository.findById(101)).thenReturn(Optional.of(PostEntityFixture.get("userName", 101, 1)));
+
+        Assertions.assertEquals(101, postService.get(101).getId());
+        Assertions.assertEquals(101, postService.get(101).getId());
+        verify(postEntityRepository, times(1)).findById(101);
+    }
+
+    @Test
+    public void 포스트_조회_시_포스트가_존재하지_않는_경우() throws Exception {
+        when(postEntityRepository.findById(102)).thenReturn(Optional.empty());
+
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.get(102));
+        Assertions.assertEquals(ErrorCode.POST_NOT_FOUND, e.getErrorCode());
+    }
+
+    @Test
+    public void 포스트_수정_시_캐시를_비운다() throws Exception {
+        final PostEntity postEntity = PostEntityFixture.get("userName", 103, 1);
+        when(postEntityRepository.findById(103)).thenReturn(Optional.of(postEntity));
+        when(postEntityRepository.saveAndFlush(any())).thenReturn(postEntity);
+        postService.get(103);
+
+        postService.modify("title", "body", 1, 103);
+        final Post post = postService.get(103);
+
+        Assertions.assertEquals("title", post.getTitle());
+    }
 
     @Test
     public void 내_피드_목록_요청이_성공한_경우() throws Exception {
-        final Pageable pageable = mock(Pageable.class);
-        final UserEntity user = mock(UserEntity.class);
+        final Pageable pageable = PageRequest.of(0, 10);
 
-        when(userEntityRepository.findByUserName(any())).thenReturn(Optional.of(user));
-        when(postEntityRepository.findAllByUser(user, pageable)).thenReturn(Page.empty());
+        when(postEntityRepository.findAllIdsByUserId(1, pageable)).thenReturn(Page.empty());
 
         //then
-        Assertions.assertDoesNotThrow(() -> postService.myList("", pageable));
+        Assertions.assertDoesNotThrow(() -> postService.myList(1, pageable));
+        verify(userEntityRepository, never()).findByUserName(any());
+    }
+
+    @Test
+    public void 검색_결과는_검색_순서대로_캐시에서_채운다() throws Exception {
+        final Pageable pageable = PageRequest.of(0, 10);
+        when(postSearchService.search("java", pageable)).thenReturn(new PageImpl<>(List.of(302, 301), pageable, 2));
+        when(postEntityRepository.findAllByIdIn(any())).thenReturn(List.of(PostEntityFixture.get("userName", 301, 1), PostEntityFixture.get("userName", 302, 1)));
+
+        final Page<Post> result = postService.search("java", pageable);
+
+        Assertions.assertEquals(List.of(302, 301), result.map(Post::getId).getContent());
+        Assertions.assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    public void 포스트_대량_작성_시_요청한_post_가_없거나_너무_많은_경우() throws Exception {
+        final List<PostContent> tooMany = Collections.nCopies(5001, new PostContent("title", "body"));
+
+        final SnsApplicationException empty = Assertions.assertThrows(SnsApplicationException.class, () -> postService.bulkCreate(List.of(), "userName"));
+        final SnsApplicationException exceeded = Assertions.assertThrows(SnsApplicationException.class, () -> postService.bulkCreate(tooMany, "userName"));
+
+        Assertions.assertEquals(ErrorCode.INVALID_BULK_SIZE, empty.getErrorCode());
+        Assertions.assertEquals(ErrorCode.INVALID_BULK_SIZE, exceeded.getErrorCode());
+        verify(postEntityRepository, never()).save(any());
+    }
+
+    @Test
+    public void 포스트_대량_작성_시_요청한_유저가_존재하지_않는_경우() throws Exception {
+        when(userEntityRepository.findByUserName("userName")).thenReturn(Optional.empty());
+
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.bulkCreate(List.of(new PostContent("title", "body")), "userName"));
+        Assertions.assertEquals(ErrorCode.USER_NOT_FOUND, e.getErrorCode());
+    }
+
+    @Test
+    public void 피드_stream_시_size_만큼_넘기고_다음_페이지_여부를_반환한다() throws Exception {
+        when(postEntityRepository.findAllWithUserByIdLessThan(any(), any())).thenAnswer(invocation -> posts(3, invocation.getArgument(0), invocation.getArgument(1)));
+        final List<Integer> first = new ArrayList<>();
+        final List<Integer> second = new ArrayList<>();
+
+        Assertions.assertTrue(postService.stream(null, 2, post -> first.add(post.getId())));
+        Assertions.assertFalse(postService.stream(2, 2, post -> second.add(post.getId())));
+
+        Assertions.assertEquals(List.of(3, 2), first);
+        Assertions.assertEquals(List.of(1), second);
+        verify(postEntityRepository, never()).findAllByIdIn(any());
+    }
+
+    @Test
+    public void 피드_stream_시_chunk_단위로_나눠_읽는다() throws Exception {
+        when(postEntityRepository.findAllWithUserByIdLessThan(any(), any())).thenAnswer(invocation -> posts(250, invocation.getArgument(0), invocation.getArgument(1)));
+        final List<Integer> ids = new ArrayList<>();
+
+        Assertions.assertTrue(postService.stream(null, 150, post -> ids.add(post.getId())));
+
+        Assertions.assertEquals(150, ids.size());
+        Assertions.assertEquals(250, ids.get(0));
+        Assertions.assertEquals(101, ids.get(149));
+        verify(postEntityRepository).findAllWithUserByIdLessThan(Integer.MAX_VALUE, PageRequest.of(0, 100));
+        verify(postEntityRepository).findAllWithUserByIdLessThan(151, PageRequest.of(0, 51));
+    }
+
+    @Test
+    public void 피드_stream_시_size_가_범위를_벗어난_경우() throws Exception {
+        for (int size : new int[]{0, Integer.MAX_VALUE}) {
+            final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> postService.stream(null, size, post -> {}));
+            Assertions.assertEquals(ErrorCode.INVALID_PAGE_SIZE, e.getErrorCode());
+        }
+        verify(postEntityRepository, never()).findAllWithUserByIdLessThan(any(), any());
+    }
+
+    // 1 부터 maxId 까지의 post 중 id 가 cursor 보다 작은 post 를 id 역순으로 pageable 크기만큼 반환한다.
+    private static List<PostEntity> posts(int maxId, Integer cursor, Pageable pageable) {
+        final List<PostEntity> posts = new ArrayList<>();
+        for (int id = Math.min(maxId, cursor - 1); id > 0 && posts.size() < pageable.getPageSize(); id--) {
+            posts.add(PostEntityFixture.get("userName", id, 1));
+        }
+
+        return posts;
     }
 
 }
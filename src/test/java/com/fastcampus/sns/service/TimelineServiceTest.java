@@ -0,0 +1,159 @@
+package com.fastcampus.sns.service;
+
+import com.fastcampus.sns.fixture.PostEntityFixture;
+import com.fastcampus.sns.model.Post;
+import com.fastcampus.sns.repository.FollowEntityRepository;
+import com.fastcampus.sns.repository.PostCacheRepository;
+import com.fastcampus.sns.repository.PostEntityRepository;
+import com.fastcampus.sns.repository.TimelineCacheRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TimelineServiceTest {
+
+    private static final int CAPACITY = 5;
+    private static final int MAX_FOLLOWERS = 2;
+
+    private final FollowEntityRepository followEntityRepository = mock(FollowEntityRepository.class);
+    private final PostEntityRepository postEntityRepository = mock(PostEntityRepository.class);
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        // fan-out 을 호출한 thread 에서 바로 실행해 결과를 확인한다.
+        timelineService = new TimelineService(new TimelineCacheRepository(CAPACITY, 100, 60_000), followEntityRepository, postEntityRepository, new PostCacheRepository(100, 60_000), MAX_FOLLOWERS, Runnable::run);
+
+        // 요청한 id 의 post 를 그대로 돌려준다.
+        when(postEntityRepository.findAllByIdIn(any())).thenAnswer(invocation -> ((Collection<Integer>) invocation.getArgument(0)).stream()
+                .map(id -> PostEntityFixture.get("userName", id, 1))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void 작성한_post_가_캐시된_팔로워_타임라인에_최신순으로_쌓인다() throws Exception {
+        // given
+        when(postEntityRepository.findTimelineIds(eq(1), eq(MAX_FOLLOWERS), any())).thenReturn(List.of(2, 1));
+        when(followEntityRepository.findCelebrityFollowingIds(1, MAX_FOLLOWERS)).thenReturn(List.of());
+        when(followEntityRepository.findFollowerIds(2)).thenReturn(List.of(1, 3));
+        timelineService.timeline(1, null, 10);
+
+        // when
+        timelineService.fanOut(2, 2, 10);
+        timelineService.fanOut(2, 2, 11);
+        final Slice<Post> timeline = timelineService.timeline(1, null, 10);
+
+        //then
+        Assertions.assertEquals(List.of(11, 10, 2, 1), ids(timeline));
+        Assertions.assertFalse(timeline.hasNext());
+        verify(postEntityRepository, times(1)).findTimelineIds(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void 타임라인은_capacity_만큼만_보관한다() throws Exception {
+        // given
+        when(postEntityRepository.findTimelineIds(eq(1), eq(MAX_FOLLOWERS), any())).thenReturn(List.of());
+        when(followEntityRepository.findCelebrityFollowingIds(1, MAX_FOLLOWERS)).thenReturn(List.of());
+        when(followEntityRepository.findFollowerIds(2)).thenReturn(List.of(1));
+        timelineService.timeline(1, null, 10);
+
+        // when
+        for (int postId = 1; postId <= CAPACITY + 2; postId++) {
+            timelineService.fanOut(2, 1, postId);
+        }
+
+        //then
+        Assertions.assertEquals(List.of(7, 6, 5, 4, 3), ids(timelineService.timeline(1, null, 10)));
+    }
+
+    @Test
+    public void 팔로워가_많은_작성자의_post_는_조회_시_합친다() throws Exception {
+        // given
+        when(postEntityRepository.findTimelineIds(eq(1), eq(MAX_FOLLOWERS), any())).thenReturn(List.of(5, 3));
+        when(followEntityRepository.findCelebrityFollowingIds(1, MAX_FOLLOWERS)).thenReturn(List.of(9));
+        when(postEntityRepository.findIdsByUserId(eq(9), any())).thenReturn(List.of(4, 2));
+        timelineService.timeline(1, null, 10);
+
+        // when
+        timelineService.fanOut(9, MAX_FOLLOWERS + 1, 6);
+        final Slice<Post> timeline = timelineService.timeline(1, null, 10);
+
+        //then
+        Assertions.assertEquals(List.of(6, 5, 4, 3, 2), ids(timeline));
+        verify(followEntityRepository, never()).findFollowerIds(9);
+    }
+
+    @Test
+    public void 타임라인을_마지막_id_이전부터_조회한다() throws Exception {
+        // given
+        when(postEntityRepository.findTimelineIds(eq(1), eq(MAX_FOLLOWERS), any())).thenReturn(List.of(5, 4, 3, 2, 1));
+        when(followEntityRepository.findCelebrityFollowingIds(1, MAX_FOLLOWERS)).thenReturn(List.of());
+
+        // when
+        final Slice<Post> first = timelineService.timeline(1, null, 2);
+        final Slice<Post> last = timelineService.timeline(1, 2, 2);
+
+        //then
+        Assertions.assertEquals(List.of(5, 4), ids(first));
+        Assertions.assertTrue(first.hasNext());
+        Assertions.assertEquals(List.of(1), ids(last));
+        Assertions.assertFalse(last.hasNext());
+    }
+
+    @Test
+    public void 팔로잉이_바뀌면_타임라인을_다시_읽는다() throws Exception {
+        // given
+        when(postEntityRepository.findTimelineIds(eq(1), eq(MAX_FOLLOWERS), any())).thenReturn(List.of(1));
+        when(followEntityRepository.findCelebrityFollowingIds(1, MAX_FOLLOWERS)).thenReturn(List.of());
+        timelineService.timeline(1, null, 10);
+
+        // when
+        timelineService.followChanged(1, 2, 0, 1);
+        timelineService.timeline(1, null, 10);
+
+        //then
+        verify(postEntityRepository, times(2)).findTimelineIds(anyInt(), anyInt(), any());
+        verify(followEntityRepository, never()).findFollowerIds(any());
+    }
+
+    @Test
+    public void 팔로잉_대상의_fan_out_방식이_바뀌면_그_대상의_팔로워_타임라인만_다시_읽는다() throws Exception {
+        // given
+        when(postEntityRepository.findTimelineIds(anyInt(), eq(MAX_FOLLOWERS), any())).thenReturn(List.of(1));
+        when(followEntityRepository.findCelebrityFollowingIds(anyInt(), eq(MAX_FOLLOWERS))).thenReturn(List.of());
+        when(followEntityRepository.findFollowerIds(9)).thenReturn(List.of(1, 2, 3));
+        timelineService.timeline(1, null, 10);
+        timelineService.timeline(3, null, 10);
+        timelineService.timeline(4, null, 10);
+
+        // when
+        timelineService.followChanged(3, 9, MAX_FOLLOWERS, MAX_FOLLOWERS + 1);
+        timelineService.timeline(1, null, 10);
+        timelineService.timeline(3, null, 10);
+        timelineService.timeline(4, null, 10);
+
+        //then
+        verify(postEntityRepository, times(2)).findTimelineIds(eq(1), anyInt(), any());
+        verify(postEntityRepository, times(2)).findTimelineIds(eq(3), anyInt(), any());
+        verify(postEntityRepository, times(1)).findTimelineIds(eq(4), anyInt(), any());
+    }
+
+    private static List<Integer> ids(Slice<Post> slice) {
+        return slice.stream().map(Post::getId).collect(Collectors.toList());
+    }
+
+}
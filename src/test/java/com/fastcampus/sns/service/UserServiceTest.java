@@ -15,7 +15,10 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -76,7 +79,7 @@ public class UserServiceTest {
         when(encoder.matches(password, fixture.getPassword())).thenReturn(true);
 
         //then
-        Assertions.assertDoesNotThrow(() -> userService.login(userName, password));
+        Assertions.assertDoesNotThrow(() -> userService.login(userName, password, "127.0.0.1"));
     }
 
     @Test
@@ -89,7 +92,7 @@ public class UserServiceTest {
         when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.empty());
 
         //then
-        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> userService.login(userName, password));
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> userService.login(userName, password, "127.0.0.1"));
         Assertions.assertEquals(ErrorCode.USER_NOT_FOUND, e.getErrorCode());
     }
 
@@ -106,8 +109,90 @@ public class UserServiceTest {
         when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(fixture));
 
         //then
-        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> userService.login(userName, wrongPassword));
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> userService.login(userName, wrongPassword, "127.0.0.1"));
         Assertions.assertEquals(ErrorCode.INVALID_PASSWORD, e.getErrorCode());
     }
 
+    @Test
+    public void 로그인_시_없는_유저도_password_비교를_거친다() throws Exception {
+        // given
+        final String userName = "notJoinedUserName";
+        final String password = "password";
+
+        // when
+        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.empty());
+
+        //then
+        Assertions.assertThrows(SnsApplicationException.class, () -> userService.login(userName, password, "127.0.0.2"));
+        verify(encoder).matches(eq(password), any());
+    }
+
+    @Test
+    public void 로그인_시도가_너무_많은_경우() throws Exception {
+        // given
+        final String userName = "throttledUserName";
+        final String password = "password";
+        final UserEntity fixture = UserEntityFixture.get(userName, password, 1);
+
+        // when
+        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(fixture));
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertThrows(SnsApplicationException.class, () -> userService.login(userName, "wrongPassword", "127.0.0.3"));
+        }
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> userService.login(userName, password, "127.0.0.3"));
+        Assertions.assertEquals(ErrorCode.TOO_MANY_REQUESTS, e.getErrorCode());
+        verify(encoder, times(5)).matches(eq("wrongPassword"), any());
+    }
+
+    @Test
+    public void 로그인_시_이전_strength_의_password_는_다시_hash_한다() throws Exception {
+        // given
+        final String userName = "rehashUserName";
+        final String password = "password";
+        final UserEntity fixture = UserEntityFixture.get(userName, password, 1);
+
+        // when
+        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(fixture));
+        when(encoder.matches(password, password)).thenReturn(true);
+        when(encoder.upgradeEncoding(password)).thenReturn(true);
+        when(encoder.encode(password)).thenReturn("rehashed_password");
+        userService.login(userName, password, "127.0.0.4");
+
+        //then
+        Assertions.assertEquals("rehashed_password", fixture.getPassword());
+        verify(userEntityRepository).save(fixture);
+    }
+
+    @Test
+    public void 유저_조회_시_캐시된_유저는_DB_를_조회하지_않는다() throws Exception {
+        // given
+        final String userName = "cachedUserName";
+        final UserEntity fixture = UserEntityFixture.get(userName, "password", 1);
+
+        // when
+        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.of(fixture));
+        userService.loadUserByUserName(userName);
+        userService.loadUserByUserName(userName);
+
+        //then
+        verify(userEntityRepository, times(1)).findByUserName(userName);
+    }
+
+    @Test
+    public void 유저_조회_시_존재하지_않는_유저는_캐시하지_않는다() throws Exception {
+        // given
+        final String userName = "notExistUserName";
+
+        // when
+        when(userEntityRepository.findByUserName(userName)).thenReturn(Optional.empty());
+
+        //then
+        final SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class, () -> userService.loadUserByUserName(userName));
+        Assertions.assertEquals(ErrorCode.USER_NOT_FOUND, e.getErrorCode());
+        Assertions.assertThrows(SnsApplicationException.class, () -> userService.loadUserByUserName(userName));
+        verify(userEntityRepository, times(2)).findByUserName(userName);
+    }
+
 }
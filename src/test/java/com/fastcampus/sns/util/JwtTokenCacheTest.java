@@ -0,0 +1,77 @@
+package com.fastcampus.sns.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JwtTokenCacheTest {
+
+    private static final String KEY = "fast_campus.sns-application-2022.secret_key";
+
+    @Test
+    public void 같은_토큰은_한번만_검증한다() throws Exception {
+        // given
+        final JwtTokenCache cache = new JwtTokenCache(100);
+        final JwtTokenUtils jwtTokenUtils = new JwtTokenUtils(KEY, 60_000L, 60_000L, false);
+        final String token = jwtTokenUtils.generateToken("userName");
+        final AtomicInteger verified = new AtomicInteger();
+
+        // when
+        final Claims first = cache.getClaims(token, it -> {
+            verified.incrementAndGet();
+            return jwtTokenUtils.extractClaims(it);
+        });
+        final Claims second = cache.getClaims(token, it -> {
+            verified.incrementAndGet();
+            return jwtTokenUtils.extractClaims(it);
+        });
+
+        //then
+        Assertions.assertEquals(1, verified.get());
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals("userName", jwtTokenUtils.getUserName(second));
+        Assertions.assertEquals(1, cache.stats().hitCount());
+        Assertions.assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    public void 검증에_실패한_토큰은_캐시하지_않는다() throws Exception {
+        // given
+        final JwtTokenCache cache = new JwtTokenCache(100);
+        final JwtTokenUtils jwtTokenUtils = new JwtTokenUtils(KEY, -1_000L, -1_000L, false);
+        final String token = jwtTokenUtils.generateToken("userName");
+
+        // when
+        Assertions.assertThrows(ExpiredJwtException.class, () -> cache.getClaims(token, jwtTokenUtils::extractClaims));
+
+        //then
+        Assertions.assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    public void 만료된_claims_는_반환하지_않는다() throws Exception {
+        // given
+        final JwtTokenCache cache = new JwtTokenCache(100);
+        final Claims expired = Jwts.claims().setExpiration(new Date(System.currentTimeMillis() - 1_000L));
+        final AtomicInteger verified = new AtomicInteger();
+
+        // when
+        cache.getClaims("token", it -> {
+            verified.incrementAndGet();
+            return expired;
+        });
+        cache.getClaims("token", it -> {
+            verified.incrementAndGet();
+            return expired;
+        });
+
+        //then
+        Assertions.assertEquals(2, verified.get());
+    }
+
+}
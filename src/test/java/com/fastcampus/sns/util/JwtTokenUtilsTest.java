@@ -0,0 +1,54 @@
+package com.fastcampus.sns.util;
+
+import com.fastcampus.sns.model.User;
+import com.fastcampus.sns.model.UserRole;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class JwtTokenUtilsTest {
+
+    private final JwtTokenUtils jwtTokenUtils = new JwtTokenUtils("fast_campus.sns-application-2022.secret_key", 60_000L, 60_000L, true);
+
+    @Test
+    public void self_contained_토큰에서_유저를_복원한다() throws Exception {
+        // given
+        final User user = new User(1, "userName", "password", UserRole.ADMIN, null, null, null);
+
+        // when
+        final Claims claims = jwtTokenUtils.extractClaims(jwtTokenUtils.generateToken(user, 3));
+
+        //then
+        Assertions.assertTrue(jwtTokenUtils.hasPrincipal(claims));
+        Assertions.assertEquals(3, jwtTokenUtils.getVersion(claims));
+
+        final User principal = jwtTokenUtils.getUser(claims);
+        Assertions.assertEquals(1, principal.getId());
+        Assertions.assertEquals("userName", principal.getUsername());
+        Assertions.assertEquals(UserRole.ADMIN, principal.getUserRole());
+        Assertions.assertNull(principal.getPassword());
+    }
+
+    @Test
+    public void userName_만_담긴_토큰은_유저를_복원하지_않는다() throws Exception {
+        // when
+        final Claims claims = jwtTokenUtils.extractClaims(jwtTokenUtils.generateToken("userName"));
+
+        //then
+        Assertions.assertFalse(jwtTokenUtils.hasPrincipal(claims));
+        Assertions.assertEquals("userName", jwtTokenUtils.getUserName(claims));
+    }
+
+    @Test
+    public void 구독_전용_토큰과_로그인_토큰을_구분한다() throws Exception {
+        // when
+        final Claims subscribe = jwtTokenUtils.extractClaims(jwtTokenUtils.generateSubscribeToken("userName"));
+        final Claims login = jwtTokenUtils.extractClaims(jwtTokenUtils.generateToken("userName"));
+
+        //then
+        Assertions.assertTrue(jwtTokenUtils.isSubscribeToken(subscribe));
+        Assertions.assertEquals("userName", jwtTokenUtils.getUserName(subscribe));
+        Assertions.assertFalse(jwtTokenUtils.isSubscribeToken(login));
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.fastcampus.sns.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    public void burst_만큼은_연속으로_허용한다() throws Exception {
+        // given
+        final RateLimiter<String> rateLimiter = new RateLimiter<>(1, Duration.ofSeconds(1), 3, 100);
+
+        // when
+        final boolean first = rateLimiter.tryAcquire("key", 0);
+        final boolean second = rateLimiter.tryAcquire("key", 0);
+        final boolean third = rateLimiter.tryAcquire("key", 0);
+        final boolean fourth = rateLimiter.tryAcquire("key", 0);
+
+        //then
+        Assertions.assertTrue(first && second && third);
+        Assertions.assertFalse(fourth);
+    }
+
+    @Test
+    public void 시간이_지나면_rate_만큼_다시_허용한다() throws Exception {
+        // given
+        final RateLimiter<String> rateLimiter = new RateLimiter<>(1, Duration.ofSeconds(1), 1, 100);
+
+        // when
+        rateLimiter.tryAcquire("key", 0);
+
+        //then
+        Assertions.assertFalse(rateLimiter.tryAcquire("key", SECOND / 2));
+        Assertions.assertTrue(rateLimiter.tryAcquire("key", SECOND));
+        Assertions.assertFalse(rateLimiter.tryAcquire("key", SECOND));
+    }
+
+    @Test
+    public void key_마다_따로_제한한다() throws Exception {
+        // given
+        final RateLimiter<String> rateLimiter = new RateLimiter<>(1, Duration.ofSeconds(1), 1, 100);
+
+        // when
+        rateLimiter.tryAcquire("key", 0);
+
+        //then
+        Assertions.assertFalse(rateLimiter.tryAcquire("key", 0));
+        Assertions.assertTrue(rateLimiter.tryAcquire("otherKey", 0));
+    }
+
+    @Test
+    public void 여러_thread_가_동시에_요청해도_burst_보다_많이_허용하지_않는다() throws Exception {
+        // given
+        final TokenBucket tokenBucket = new TokenBucket(SECOND, 0, 0);
+        final AtomicInteger acquired = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    if (tokenBucket.tryAcquire(0)) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then
+        Assertions.assertEquals(1, acquired.get());
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.fastcampus.sns.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class TokenizerUtilsTest {
+
+    @Test
+    public void 글자와_숫자_구간을_소문자_토큰으로_나눈다() throws Exception {
+        Assertions.assertEquals(List.of("spring", "boot", "2", "6", "스프링"), TokenizerUtils.tokenize("Spring-Boot 2.6, 스프링!"));
+    }
+
+    @Test
+    public void hashtag_와_mention_을_추출한다() throws Exception {
+        final String body = "#Spring 공부 중 #spring #JPA_2 with @user1, mail: user2@mail.com #";
+
+        Assertions.assertEquals(Set.of("spring", "jpa_2"), TokenizerUtils.extractHashtags(body));
+        Assertions.assertEquals(Set.of("user1"), TokenizerUtils.extractMentions(body));
+    }
+
+}